@@ -1,7 +1,10 @@
 package kr.taeu.effectiveJava.item10;
 
+import kr.taeu.effectiveJava.util.PhoneNumberHash;
+
 public class PhoneNumber {
   private final short areaCode, prefix, lineNum;
+  private int hashCode; // 자동으로 0으로 초기화, hashCode가 처음 불릴 때 계산한다.
   
   public PhoneNumber(int areaCode, int prefix, int lineNum) {
     this.areaCode = rangeCheck(areaCode, 999, "지역코드");
@@ -27,4 +30,20 @@ public class PhoneNumber {
     PhoneNumber pn = (PhoneNumber)o;
     return pn.lineNum == lineNum && pn.prefix == prefix && pn.areaCode == areaCode;
   }
+
+  /*
+   * 31을 곱해 더하는 방식은 필드 값이 작고 범위가 겹쳐 해시코드가 쉽게 충돌한다.
+   * (프리픽스가 1 크고 가입자 번호가 31 작은 번호는 해시코드가 같다.)
+   * 세 필드를 겹치지 않게 비트로 이어 붙인 다음 섞어서(MurmurHash3의 fmix64) 하위 비트까지 고르게 퍼뜨린다(PhoneNumberHash.hash).
+   * 불변 객체이므로 처음 불릴 때 계산해 캐싱한다. 여러 스레드가 동시에 계산해도 결과가 같으므로 안전하다.
+   */
+  @Override
+  public int hashCode() {
+    int result = hashCode;
+    if (result == 0) {
+      result = PhoneNumberHash.hash(areaCode, prefix, lineNum);
+      hashCode = result;
+    }
+    return result;
+  }
 }
@@ -0,0 +1,183 @@
+package kr.taeu.effectiveJava.item11;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+import kr.taeu.effectiveJava.item10.PhoneNumber;
+import kr.taeu.effectiveJava.util.PhoneNumberHash;
+
+/*
+ * 전화번호 해시 함수별 버킷 충돌 분포와 HashMap put/get 처리량 비교
+ * - 31 * x: README의 전형적인 hashCode
+ * - Objects.hash: 한 줄짜리지만 호출마다 배열을 만들고 박싱한다.
+ * - mixed: 필드를 비트로 이어 붙여 fmix64로 섞는다(캐싱 없음).
+ * - mixed, cached: item10.PhoneNumber(mixed와 같은 함수를 지연 초기화로 캐싱)
+ *
+ * 데이터는 실제 번호처럼 몇몇 지역코드와 프리픽스에 몰려 있다.
+ * - 한 블록: 지역코드 하나, 프리픽스 100개, 가입자 번호 전부(1,000,000개)
+ * - 여러 지역: 지역코드 20개 중 하나, 프리픽스 200 ~ 999, 가입자 번호 무작위(1,000,000개)
+ * 충돌은 HashMap과 같은 방식(h ^ h >>> 16의 하위 비트)으로 버킷을 정해서 센다.
+ */
+public class HashCodeBenchmark {
+  private static final int N = 1_000_000;
+
+  public static void main(String[] args) {
+    int[][] block = new int[N][];
+    for (int i = 0; i < N; i++) {
+      block[i] = new int[] { 707, 200 + i / 10_000, i % 10_000 };
+    }
+    int[][] regions = new int[N][];
+    Random random = new Random(42);
+    int[] areaCodes = new int[20];
+    for (int i = 0; i < areaCodes.length; i++) {
+      areaCodes[i] = 200 + random.nextInt(800);
+    }
+    Set<Long> seen = new HashSet<>();
+    for (int i = 0; i < N; ) {
+      int[] pn = { areaCodes[random.nextInt(areaCodes.length)], 200 + random.nextInt(800), random.nextInt(10_000) };
+      if (seen.add(pn[0] * 10_000_000L + pn[1] * 10_000L + pn[2])) {
+        regions[i++] = pn;
+      }
+    }
+
+    run("single block", block);
+    run("many regions", regions);
+  }
+
+  private static void run(String name, int[][] data) {
+    System.out.println("== " + name);
+    measure("31 * x", data, i -> new Plain31(data[i][0], data[i][1], data[i][2]), Object::hashCode);
+    measure("Objects.hash", data, i -> new ObjectsHash(data[i][0], data[i][1], data[i][2]), Object::hashCode);
+    measure("mixed", data, i -> new Mixed(data[i][0], data[i][1], data[i][2]), Object::hashCode);
+    measure("mixed, cached", data, i -> new PhoneNumber(data[i][0], data[i][1], data[i][2]), Object::hashCode);
+  }
+
+  private static <K> void measure(String name, int[][] data, IntFunction<K> factory, ToIntFunction<K> hash) {
+    @SuppressWarnings("unchecked")
+    K[] keys = (K[]) new Object[data.length];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = factory.apply(i);
+    }
+
+    // HashMap이 N개를 담을 때의 테이블 크기(2의 거듭제곱, 부하율 0.75)
+    int tableSize = Integer.highestOneBit(keys.length * 4 / 3) << 1;
+    int[] buckets = new int[tableSize];
+    Set<Integer> distinct = new HashSet<>();
+    for (K key : keys) {
+      int h = hash.applyAsInt(key);
+      distinct.add(h);
+      buckets[(h ^ (h >>> 16)) & (tableSize - 1)]++;
+    }
+    int maxChain = 0;
+    long probes = 0; // 저장된 키를 모두 한 번씩 찾을 때 비교하는 횟수의 합
+    for (int count : buckets) {
+      maxChain = Math.max(maxChain, count);
+      probes += (long) count * (count + 1) / 2;
+    }
+
+    long putNanos = Long.MAX_VALUE;
+    long getNanos = Long.MAX_VALUE;
+    int found = 0;
+    for (int round = 0; round < 5; round++) { // 워밍업을 겸해 5회 중 가장 빠른 값
+      Map<K, Integer> map = new HashMap<>();
+      long start = System.nanoTime();
+      for (int i = 0; i < keys.length; i++) {
+        map.put(keys[i], i);
+      }
+      putNanos = Math.min(putNanos, System.nanoTime() - start);
+      start = System.nanoTime();
+      found = 0;
+      for (K key : keys) {
+        if (map.get(key) != null) {
+          found++;
+        }
+      }
+      getNanos = Math.min(getNanos, System.nanoTime() - start);
+    }
+
+    System.out.printf("%-14s distinct=%,9d maxChain=%4d avgProbes=%6.2f put=%6.1f ns get=%6.1f ns (found=%d)%n",
+        name, distinct.size(), maxChain, (double) probes / keys.length,
+        (double) putNanos / keys.length, (double) getNanos / keys.length, found);
+  }
+
+  private static final class Plain31 {
+    private final short areaCode, prefix, lineNum;
+
+    Plain31(int areaCode, int prefix, int lineNum) {
+      this.areaCode = (short) areaCode;
+      this.prefix = (short) prefix;
+      this.lineNum = (short) lineNum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Plain31)) {
+        return false;
+      }
+      Plain31 pn = (Plain31) o;
+      return pn.lineNum == lineNum && pn.prefix == prefix && pn.areaCode == areaCode;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Short.hashCode(areaCode);
+      result = 31 * result + Short.hashCode(prefix);
+      result = 31 * result + Short.hashCode(lineNum);
+      return result;
+    }
+  }
+
+  private static final class ObjectsHash {
+    private final short areaCode, prefix, lineNum;
+
+    ObjectsHash(int areaCode, int prefix, int lineNum) {
+      this.areaCode = (short) areaCode;
+      this.prefix = (short) prefix;
+      this.lineNum = (short) lineNum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof ObjectsHash)) {
+        return false;
+      }
+      ObjectsHash pn = (ObjectsHash) o;
+      return pn.lineNum == lineNum && pn.prefix == prefix && pn.areaCode == areaCode;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(areaCode, prefix, lineNum);
+    }
+  }
+
+  private static final class Mixed {
+    private final short areaCode, prefix, lineNum;
+
+    Mixed(int areaCode, int prefix, int lineNum) {
+      this.areaCode = (short) areaCode;
+      this.prefix = (short) prefix;
+      this.lineNum = (short) lineNum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Mixed)) {
+        return false;
+      }
+      Mixed pn = (Mixed) o;
+      return pn.lineNum == lineNum && pn.prefix == prefix && pn.areaCode == areaCode;
+    }
+
+    @Override
+    public int hashCode() {
+      return PhoneNumberHash.hash(areaCode, prefix, lineNum);
+    }
+  }
+}
@@ -1,10 +1,16 @@
 package kr.taeu.effectiveJava.item12;
 
+import java.nio.ByteBuffer;
+
+import kr.taeu.effectiveJava.util.PhoneNumberFormat;
+import kr.taeu.effectiveJava.util.PhoneNumberHash;
+
 /*
  * 포맷을 명시하지 않기로한 PhoneNumber 클래스
  */
 public class PhoneNumber1 {
   private final short areaCode, prefix, lineNum;
+  private int hashCode; // 자동으로 0으로 초기화, hashCode가 처음 불릴 때 계산한다.
   
   public PhoneNumber1(int areaCode, int prefix, int lineNum) {
     this.areaCode = rangeCheck(areaCode, 999, "지역코드");
@@ -30,6 +36,19 @@ public class PhoneNumber1 {
     PhoneNumber1 pn = (PhoneNumber1)o;
     return pn.lineNum == lineNum && pn.prefix == prefix && pn.areaCode == areaCode;
   }
+
+  /*
+   * item10.PhoneNumber와 같은 해시 함수(PhoneNumberHash.hash), 지연 초기화로 캐싱한다.
+   */
+  @Override
+  public int hashCode() {
+    int result = hashCode;
+    if (result == 0) {
+      result = PhoneNumberHash.hash(areaCode, prefix, lineNum);
+      hashCode = result;
+    }
+    return result;
+  }
   
   /**
    * 이 전화번호의 문자열 표현을 반환한다.
@@ -43,6 +62,30 @@ public class PhoneNumber1 {
    */
   @Override
   public String toString() {
-    return String.format("%03d-%03d-%04d", this.areaCode, this.prefix, this.lineNum);
+    return PhoneNumberFormat.toString(areaCode, prefix, lineNum);
+  }
+
+  /*
+   * toString과 같은 12글자를 호출한 쪽의 버퍼에 쓴다(PhoneNumberFormat).
+   */
+  public int formatTo(char[] dst, int offset) {
+    return PhoneNumberFormat.format(areaCode, prefix, lineNum, dst, offset);
+  }
+
+  public StringBuilder appendTo(StringBuilder sb) {
+    return PhoneNumberFormat.appendTo(areaCode, prefix, lineNum, sb);
+  }
+
+  public void formatTo(ByteBuffer dst) {
+    PhoneNumberFormat.format(areaCode, prefix, lineNum, dst);
+  }
+
+  /*
+   * toString이 반환한 문자열로 다시 전화번호를 만드는 정적 팩터리
+   */
+  public static PhoneNumber1 parse(CharSequence s) {
+    int[] fields = new int[3];
+    PhoneNumberFormat.parse(s, fields);
+    return new PhoneNumber1(fields[0], fields[1], fields[2]);
   }
 }
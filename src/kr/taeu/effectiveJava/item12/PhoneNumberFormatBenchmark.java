@@ -0,0 +1,147 @@
+package kr.taeu.effectiveJava.item12;
+
+import static kr.taeu.effectiveJava.util.Memory.allocatedBytes;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import kr.taeu.effectiveJava.util.PhoneNumberFormat;
+
+/*
+ * 전화번호 포맷/파싱 방식별 처리 시간과 호출당 할당량 비교
+ * - 포맷: String.format, PhoneNumberFormat.toString, StringBuilder/char[]/ByteBuffer에 직접 쓰기
+ * - 파싱: 정규표현식 + Integer.parseInt, PhoneNumberFormat.parse
+ */
+public class PhoneNumberFormatBenchmark {
+  private static final int N = 1 << 16;
+  private static final int OPS = 5_000_000;
+  private static final Pattern PHONE_NUMBER = Pattern.compile("(\\d{3})-(\\d{3})-(\\d{4})");
+
+  private static final int[] areaCodes = new int[N];
+  private static final int[] prefixes = new int[N];
+  private static final int[] lineNums = new int[N];
+  private static final String[] texts = new String[N];
+
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    for (int i = 0; i < N; i++) {
+      areaCodes[i] = random.nextInt(1000);
+      prefixes[i] = random.nextInt(1000);
+      lineNums[i] = random.nextInt(10000);
+      texts[i] = String.format("%03d-%03d-%04d", areaCodes[i], prefixes[i], lineNums[i]);
+      if (!texts[i].equals(PhoneNumberFormat.toString(areaCodes[i], prefixes[i], lineNums[i]))) {
+        throw new AssertionError(texts[i]);
+      }
+    }
+
+    for (int round = 0; round < 3; round++) { // 워밍업 2회 + 측정 1회
+      boolean print = round == 2;
+      formatWithStringFormat(print);
+      formatToString(print);
+      formatToStringBuilder(print);
+      formatToCharArray(print);
+      formatToByteBuffer(print);
+      parseWithRegex(print);
+      parse(print);
+    }
+  }
+
+  private static void formatWithStringFormat(boolean print) {
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < OPS; i++) {
+      int j = i & (N - 1);
+      sum += String.format("%03d-%03d-%04d", areaCodes[j], prefixes[j], lineNums[j]).charAt(11);
+    }
+    report("String.format", start, bytes, sum, print);
+  }
+
+  private static void formatToString(boolean print) {
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < OPS; i++) {
+      int j = i & (N - 1);
+      sum += PhoneNumberFormat.toString(areaCodes[j], prefixes[j], lineNums[j]).charAt(11);
+    }
+    report("toString", start, bytes, sum, print);
+  }
+
+  private static void formatToStringBuilder(boolean print) {
+    StringBuilder sb = new StringBuilder(PhoneNumberFormat.LENGTH);
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < OPS; i++) {
+      int j = i & (N - 1);
+      sb.setLength(0);
+      sum += PhoneNumberFormat.appendTo(areaCodes[j], prefixes[j], lineNums[j], sb).charAt(11);
+    }
+    report("StringBuilder", start, bytes, sum, print);
+  }
+
+  private static void formatToCharArray(boolean print) {
+    char[] buf = new char[PhoneNumberFormat.LENGTH];
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < OPS; i++) {
+      int j = i & (N - 1);
+      PhoneNumberFormat.format(areaCodes[j], prefixes[j], lineNums[j], buf, 0);
+      sum += buf[11];
+    }
+    report("char[]", start, bytes, sum, print);
+  }
+
+  private static void formatToByteBuffer(boolean print) {
+    ByteBuffer buf = ByteBuffer.allocateDirect(PhoneNumberFormat.LENGTH);
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < OPS; i++) {
+      int j = i & (N - 1);
+      buf.clear();
+      PhoneNumberFormat.format(areaCodes[j], prefixes[j], lineNums[j], buf);
+      sum += buf.get(11);
+    }
+    report("ByteBuffer", start, bytes, sum, print);
+  }
+
+  private static void parseWithRegex(boolean print) {
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < OPS; i++) {
+      Matcher m = PHONE_NUMBER.matcher(texts[i & (N - 1)]);
+      if (!m.matches()) {
+        throw new AssertionError();
+      }
+      sum += Integer.parseInt(m.group(1)) + Integer.parseInt(m.group(2)) + Integer.parseInt(m.group(3));
+    }
+    report("regex parse", start, bytes, sum, print);
+  }
+
+  private static void parse(boolean print) {
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    int[] fields = new int[3];
+    for (int i = 0; i < OPS; i++) {
+      PhoneNumberFormat.parse(texts[i & (N - 1)], fields);
+      sum += fields[0] + fields[1] + fields[2];
+    }
+    report("parse", start, bytes, sum, print);
+  }
+
+  private static void report(String name, long start, long bytesBefore, long sum, boolean print) {
+    long elapsed = System.nanoTime() - start;
+    long allocated = allocatedBytes() - bytesBefore;
+    if (print) {
+      System.out.printf("%-14s %7.2f ns/op, %6.1f bytes/op (sum=%d)%n",
+          name, (double) elapsed / OPS, (double) allocated / OPS, sum);
+    }
+  }
+}
@@ -1,10 +1,14 @@
 package kr.taeu.effectiveJava.item13;
 
+import kr.taeu.effectiveJava.util.PhoneNumberFormat;
+import kr.taeu.effectiveJava.util.PhoneNumberHash;
+
 /*
  * 가변 상태를 참조하지 않는 클래스용 clone 메서드
  */
 public class PhoneNumber1 implements Cloneable{
   private final short areaCode, prefix, lineNum;
+  private int hashCode; // 자동으로 0으로 초기화, hashCode가 처음 불릴 때 계산한다.
   
   public PhoneNumber1(int areaCode, int prefix, int lineNum) {
     this.areaCode = rangeCheck(areaCode, 999, "지역코드");
@@ -31,9 +35,22 @@ public class PhoneNumber1 implements Cloneable{
     return pn.lineNum == lineNum && pn.prefix == prefix && pn.areaCode == areaCode;
   }
 
+  /*
+   * equals를 재정의했으니 hashCode도 재정의한다, 다른 PhoneNumber들과 같은 PhoneNumberHash.hash를 캐싱한다.
+   */
+  @Override
+  public int hashCode() {
+    int result = hashCode;
+    if (result == 0) {
+      result = PhoneNumberHash.hash(areaCode, prefix, lineNum);
+      hashCode = result;
+    }
+    return result;
+  }
+
   @Override
   public String toString() {
-    return String.format("%03d-%03d-%04d", this.areaCode, this.prefix, this.lineNum);
+    return PhoneNumberFormat.toString(areaCode, prefix, lineNum);
   }
   
   /*
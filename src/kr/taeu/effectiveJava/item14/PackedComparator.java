@@ -0,0 +1,205 @@
+package kr.taeu.effectiveJava.item14;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/*
+ * 비교자 연쇄를 long 키 하나로 합친 비교자
+ * PhoneNumber2.COMPARATOR처럼 comparingInt(...).thenComparingInt(...)로 만든 비교자는
+ * 비교할 때마다 람다 여러 개를 거친다. 연쇄의 모든 고리가 범위가 정해진 int 추출자라면
+ * 각 값을 (값 - 최솟값)으로 옮겨 앞 고리부터 높은 비트에 이어 붙인 long의 대소가 연쇄의 순서와 같다.
+ * 정렬이나 TreeMap 같은 구조는 이 키를 한 번만 뽑아두고 기본 타입 하나로 비교할 수 있다(sort 참고).
+ * compare 한 번만 놓고 보면 모든 필드를 읽고 범위를 검사하므로, 첫 필드에서 끝나는 일이 많은 연쇄보다 느릴 수 있다.
+ * 이득은 키를 한 번 뽑아 여러 번 쓸 때 난다.
+ *
+ * Builder는 범위가 없는 고리나 일반 비교자가 섞였거나 비트가 63개를 넘으면 평범한 비교자 연쇄를 만든다.
+ * 범위를 벗어난 값을 만나면 순서를 조용히 틀리는 대신 IllegalArgumentException을 던진다.
+ */
+public final class PackedComparator<T> implements Comparator<T> {
+  private static final int MAX_BITS = 63; // 부호 비트는 쓰지 않는다.
+
+  public static <T> Builder<T> comparingInt(ToIntFunction<? super T> keyExtractor, int min, int max) {
+    return new Builder<T>().thenComparingInt(keyExtractor, min, max);
+  }
+
+  public static <T> Builder<T> comparingInt(ToIntFunction<? super T> keyExtractor) {
+    return new Builder<T>().thenComparingInt(keyExtractor);
+  }
+
+  public static final class Builder<T> {
+    private final List<Link<T>> links = new ArrayList<>();
+
+    private Builder() {
+    }
+
+    /*
+     * 값이 [min, max] 범위에 있는 int 추출자
+     */
+    public Builder<T> thenComparingInt(ToIntFunction<? super T> keyExtractor, int min, int max) {
+      if (min > max) {
+        throw new IllegalArgumentException("min: " + min + ", max: " + max);
+      }
+      links.add(new Link<>(Objects.requireNonNull(keyExtractor), min, max, null));
+      return this;
+    }
+
+    /*
+     * 범위를 모르는 int 추출자, 이 고리가 있으면 키로 합칠 수 없다.
+     */
+    public Builder<T> thenComparingInt(ToIntFunction<? super T> keyExtractor) {
+      links.add(new Link<>(Objects.requireNonNull(keyExtractor), 0, 0, Comparator.comparingInt(keyExtractor)));
+      return this;
+    }
+
+    /*
+     * 일반 비교자, 이 고리가 있으면 키로 합칠 수 없다.
+     */
+    public Builder<T> thenComparing(Comparator<? super T> comparator) {
+      links.add(new Link<>(null, 0, 0, Objects.requireNonNull(comparator)));
+      return this;
+    }
+
+    /*
+     * 모든 고리를 키로 합칠 수 있으면 PackedComparator를, 아니면 Comparator.thenComparing 연쇄를 반환한다.
+     */
+    public Comparator<T> build() {
+      return canPack() ? new PackedComparator<>(links) : chain();
+    }
+
+    /*
+     * 키로 합칠 수 없으면 IllegalStateException을 던진다.
+     */
+    public PackedComparator<T> buildPacked() {
+      if (!canPack()) {
+        throw new IllegalStateException("long 키로 합칠 수 없는 비교자 연쇄입니다.");
+      }
+      return new PackedComparator<>(links);
+    }
+
+    private boolean canPack() {
+      int totalBits = 0;
+      for (Link<T> link : links) {
+        if (link.comparator != null) {
+          return false;
+        }
+        totalBits += link.bits;
+      }
+      return totalBits <= MAX_BITS;
+    }
+
+    private Comparator<T> chain() {
+      Comparator<T> result = null;
+      for (Link<T> link : links) {
+        Comparator<? super T> next = link.comparator != null
+            ? link.comparator
+            : Comparator.comparingInt(link.keyExtractor);
+        result = result == null ? next::compare : result.thenComparing(next);
+      }
+      return result;
+    }
+  }
+
+  private static final class Link<T> {
+    final ToIntFunction<? super T> keyExtractor;
+    final int min;
+    final long maxOffset;
+    final int bits;
+    final Comparator<? super T> comparator; // null이 아니면 키로 합칠 수 없는 고리
+
+    Link(ToIntFunction<? super T> keyExtractor, int min, int max, Comparator<? super T> comparator) {
+      this.keyExtractor = keyExtractor;
+      this.min = min;
+      this.maxOffset = (long) max - min;
+      this.bits = 64 - Long.numberOfLeadingZeros(maxOffset);
+      this.comparator = comparator;
+    }
+  }
+
+  /*
+   * 추출자 호출 지점이 고리마다 따로 생기도록 앞의 세 고리는 필드로 풀어서 계산한다.
+   * 한 호출 지점에 여러 람다가 섞이면 JIT가 인라인하지 못한다.
+   */
+  private final ToIntFunction<? super T> key1, key2, key3;
+  private final int min1, min2, min3;
+  private final long maxOffset1, maxOffset2, maxOffset3;
+  private final int bits2, bits3;
+  private final Link<T>[] rest;
+  private final int totalBits;
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private PackedComparator(List<Link<T>> links) {
+    Link<T> first = links.get(0);
+    Link<T> second = links.size() > 1 ? links.get(1) : null;
+    Link<T> third = links.size() > 2 ? links.get(2) : null;
+    key1 = first.keyExtractor;
+    min1 = first.min;
+    maxOffset1 = first.maxOffset;
+    key2 = second == null ? null : second.keyExtractor;
+    min2 = second == null ? 0 : second.min;
+    maxOffset2 = second == null ? 0 : second.maxOffset;
+    bits2 = second == null ? 0 : second.bits;
+    key3 = third == null ? null : third.keyExtractor;
+    min3 = third == null ? 0 : third.min;
+    maxOffset3 = third == null ? 0 : third.maxOffset;
+    bits3 = third == null ? 0 : third.bits;
+    rest = links.size() > 3 ? links.subList(3, links.size()).toArray(new Link[0]) : new Link[0];
+    int bits = 0;
+    for (Link<T> link : links) {
+      bits += link.bits;
+    }
+    totalBits = bits;
+  }
+
+  /*
+   * 연쇄의 순서를 그대로 따르는 0 이상의 long 키
+   */
+  public long key(T t) {
+    long key = offset(key1.applyAsInt(t), min1, maxOffset1);
+    if (key2 != null) {
+      key = key << bits2 | offset(key2.applyAsInt(t), min2, maxOffset2);
+      if (key3 != null) {
+        key = key << bits3 | offset(key3.applyAsInt(t), min3, maxOffset3);
+        for (Link<T> link : rest) {
+          key = key << link.bits | offset(link.keyExtractor.applyAsInt(t), link.min, link.maxOffset);
+        }
+      }
+    }
+    return key;
+  }
+
+  private static long offset(int value, int min, long maxOffset) {
+    long offset = (long) value - min;
+    if (offset < 0 || offset > maxOffset) {
+      throw new IllegalArgumentException("범위를 벗어난 값: " + value);
+    }
+    return offset;
+  }
+
+  /*
+   * 키가 차지하는 비트 수
+   */
+  public int bits() {
+    return totalBits;
+  }
+
+  @Override
+  public int compare(T a, T b) {
+    return Long.compare(key(a), key(b));
+  }
+
+  /*
+   * 원소마다 키를 한 번만 뽑아 원래 위치와 함께 long 배열로 기수 정렬한 다음 원소를 재배치한다(PhoneNumberSort).
+   * 같은 키끼리는 원래 순서가 유지된다(Arrays.sort(a, this)와 결과가 같다).
+   * 위치를 담을 비트가 모자라면 Arrays.sort(a, this)로 정렬한다.
+   */
+  public void sort(T[] a) {
+    PhoneNumberSort.sort(a, this, false);
+  }
+
+  public void parallelSort(T[] a) {
+    PhoneNumberSort.sort(a, this, true);
+  }
+}
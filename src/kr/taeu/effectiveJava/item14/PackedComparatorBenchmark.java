@@ -0,0 +1,77 @@
+package kr.taeu.effectiveJava.item14;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/*
+ * PhoneNumber(직접 작성한 compareTo)와 PhoneNumber2(비교자 생성 메서드 연쇄)를
+ * PackedComparator와 비교하는 벤치마크
+ * - compare: 무작위 두 원소를 비교하는 시간
+ * - Arrays.sort: 각 비교자로 정렬하는 시간
+ * - key sort: PackedComparator.sort, 키를 한 번만 뽑아 long 배열로 정렬한다.
+ */
+public class PackedComparatorBenchmark {
+  private static final int N = 2_000_000;
+  private static final int COMPARES = 50_000_000;
+
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    PhoneNumber[] numbers = new PhoneNumber[N];
+    PhoneNumber2[] numbers2 = new PhoneNumber2[N];
+    for (int i = 0; i < N; i++) {
+      int areaCode = random.nextInt(1000);
+      int prefix = random.nextInt(1000);
+      int lineNum = random.nextInt(10000);
+      numbers[i] = new PhoneNumber(areaCode, prefix, lineNum);
+      numbers2[i] = new PhoneNumber2(areaCode, prefix, lineNum);
+    }
+    int[] pairs = new int[1 << 20];
+    for (int i = 0; i < pairs.length; i++) {
+      pairs[i] = random.nextInt(N);
+    }
+
+    for (int round = 0; round < 3; round++) { // 워밍업 2회 + 측정 1회
+      boolean print = round == 2;
+      compare("PhoneNumber  compareTo", numbers, pairs, Comparator.naturalOrder(), print);
+      compare("PhoneNumber  packed", numbers, pairs, PhoneNumber.PACKED_COMPARATOR, print);
+      compare("PhoneNumber2 COMPARATOR", numbers2, pairs, Comparator.naturalOrder(), print);
+      compare("PhoneNumber2 packed", numbers2, pairs, PhoneNumber2.PACKED_COMPARATOR, print);
+
+      sort("PhoneNumber  Arrays.sort", numbers, a -> Arrays.sort(a), print);
+      sort("PhoneNumber  Arrays.sort packed", numbers, a -> Arrays.sort(a, PhoneNumber.PACKED_COMPARATOR), print);
+      sort("PhoneNumber  key sort", numbers, PhoneNumber.PACKED_COMPARATOR::sort, print);
+      sort("PhoneNumber2 Arrays.sort", numbers2, a -> Arrays.sort(a), print);
+      sort("PhoneNumber2 Arrays.sort packed", numbers2, a -> Arrays.sort(a, PhoneNumber2.PACKED_COMPARATOR), print);
+      sort("PhoneNumber2 key sort", numbers2, PhoneNumber2.PACKED_COMPARATOR::sort, print);
+    }
+  }
+
+  private static <T> void compare(String name, T[] a, int[] pairs, Comparator<? super T> comparator, boolean print) {
+    int mask = pairs.length - 1;
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < COMPARES; i++) {
+      sum += comparator.compare(a[pairs[i & mask]], a[pairs[(i + 1) & mask]]);
+    }
+    long elapsed = System.nanoTime() - start;
+    if (print) {
+      System.out.printf("%-32s %6.2f ns/compare (sum=%d)%n", name, (double) elapsed / COMPARES, sum);
+    }
+  }
+
+  @FunctionalInterface
+  interface Sorter<T> {
+    void sort(T[] a);
+  }
+
+  private static <T> void sort(String name, T[] original, Sorter<T> sorter, boolean print) {
+    T[] a = original.clone();
+    long start = System.nanoTime();
+    sorter.sort(a);
+    long elapsed = System.nanoTime() - start;
+    if (print) {
+      System.out.printf("%-32s %,6d ms%n", name, elapsed / 1_000_000);
+    }
+  }
+}
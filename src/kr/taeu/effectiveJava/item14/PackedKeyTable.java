@@ -0,0 +1,162 @@
+package kr.taeu.effectiveJava.item14;
+
+import java.util.Arrays;
+
+/*
+ * PhoneNumberSet과 PhoneNumberMap이 함께 쓰는 선형 탐사(open addressing) 테이블
+ * 키는 PackedPhoneNumber 인코딩을 long 배열에 그대로 저장한다.
+ * 값 배열은 맵일 때만 만들고 키와 같은 칸에 둔다. 집합은 values가 null이라 키 배열만 쓴다.
+ */
+final class PackedKeyTable {
+  static final long EMPTY = -1; // 인코딩은 모두 0 이상이다.
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int MAX_LOAD_PERCENT = 70;
+  static final int DEFAULT_EXPECTED_SIZE = DEFAULT_CAPACITY * MAX_LOAD_PERCENT / 100;
+
+  private long[] keys;
+  private Object[] values; // 집합이면 null
+  private int shift;       // 64 - log2(keys.length)
+  private int threshold;
+  private int size = 0;
+
+  PackedKeyTable(int expectedSize, boolean withValues) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("expectedSize: " + expectedSize);
+    }
+    allocate(capacityFor(expectedSize), withValues);
+  }
+
+  /*
+   * 새 키라면 넣고 true, 이미 있다면 false를 반환한다.
+   */
+  boolean add(long packed) {
+    PackedPhoneNumber.checkPacked(packed);
+    int slot = probe(packed);
+    if (keys[slot] == packed) {
+      return false;
+    }
+    keys[slot] = packed;
+    grow();
+    return true;
+  }
+
+  /*
+   * 이전 값을 반환하고, 없었다면 null을 반환한다.
+   */
+  Object put(long packed, Object value) {
+    PackedPhoneNumber.checkPacked(packed);
+    int slot = probe(packed);
+    if (keys[slot] == packed) {
+      Object old = values[slot];
+      values[slot] = value;
+      return old;
+    }
+    keys[slot] = packed;
+    values[slot] = value;
+    grow();
+    return null;
+  }
+
+  /*
+   * packed가 있는 칸, 없다면 -1
+   */
+  int slotOf(long packed) {
+    if (packed < 0) {
+      return -1;
+    }
+    int slot = probe(packed);
+    return keys[slot] == packed ? slot : -1;
+  }
+
+  Object valueAt(int slot) {
+    return values[slot];
+  }
+
+  int capacity() {
+    return keys.length;
+  }
+
+  long keyAt(int slot) {
+    return keys[slot];
+  }
+
+  int size() {
+    return size;
+  }
+
+  /*
+   * 빈 칸 표식(tombstone)을 남기지 않고, 뒤에 이어진 원소 중 제자리를 지나쳐 온 것들을 당겨 빈 칸을 메운다.
+   */
+  void removeSlot(int hole) {
+    int mask = keys.length - 1;
+    for (int i = (hole + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+      int home = PackedPhoneNumber.index(keys[i], shift);
+      // home이 (hole, i] 구간 밖이면 이 원소는 hole을 지나 밀려온 것이다.
+      if (((i - home) & mask) >= ((i - hole) & mask)) {
+        keys[hole] = keys[i];
+        if (values != null) {
+          values[hole] = values[i];
+        }
+        hole = i;
+      }
+    }
+    keys[hole] = EMPTY;
+    if (values != null) {
+      values[hole] = null; // 다 쓴 참조 해제
+    }
+    size--;
+  }
+
+  /*
+   * packed가 있는 칸, 없다면 탐사가 멈춘 빈 칸
+   */
+  private int probe(long packed) {
+    int mask = keys.length - 1;
+    int i = PackedPhoneNumber.index(packed, shift);
+    while (keys[i] != packed && keys[i] != EMPTY) {
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+
+  private void grow() {
+    if (++size > threshold) {
+      resize(keys.length * 2);
+    }
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(capacity, oldValues != null);
+    int mask = capacity - 1;
+    for (int j = 0; j < oldKeys.length; j++) {
+      if (oldKeys[j] != EMPTY) {
+        int i = PackedPhoneNumber.index(oldKeys[j], shift);
+        while (keys[i] != EMPTY) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        if (oldValues != null) {
+          values[i] = oldValues[j];
+        }
+      }
+    }
+  }
+
+  private void allocate(int capacity, boolean withValues) {
+    keys = new long[capacity];
+    values = withValues ? new Object[capacity] : null;
+    Arrays.fill(keys, EMPTY);
+    shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    threshold = (int) ((long) capacity * MAX_LOAD_PERCENT / 100);
+  }
+
+  private static int capacityFor(int expectedSize) {
+    long needed = (long) expectedSize * 100 / MAX_LOAD_PERCENT + 1;
+    if (needed > 1 << 30) {
+      throw new IllegalArgumentException("expectedSize: " + expectedSize);
+    }
+    return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+  }
+}
@@ -0,0 +1,64 @@
+package kr.taeu.effectiveJava.item14;
+
+/*
+ * 전화번호 하나를 long 하나에 담는 인코딩
+ * 지역코드(10비트), 프리픽스(10비트), 가입자 번호(14비트)를 높은 자리부터 이어 붙인 34비트 값이다.
+ * 가능한 번호가 10^10개라 int(2^32)에는 다 담을 수 없다.
+ * 중요한 필드가 높은 비트에 있으므로 packed 값의 대소는 PhoneNumber.compareTo의 순서와 같다.
+ * 모든 값이 0 이상이므로 음수는 '번호 없음' 같은 표식으로 쓸 수 있다.
+ */
+public final class PackedPhoneNumber {
+  static final int LINE_NUM_BITS = 14;
+  static final int PREFIX_BITS = 10;
+  static final int AREA_CODE_BITS = 10;
+  static final int BITS = AREA_CODE_BITS + PREFIX_BITS + LINE_NUM_BITS;
+
+  private PackedPhoneNumber() {
+  }
+
+  public static long pack(int areaCode, int prefix, int lineNum) {
+    rangeCheck(areaCode, 999, "지역코드");
+    rangeCheck(prefix, 999, "프리픽스");
+    rangeCheck(lineNum, 9999, "가입자 번호");
+    return ((long) areaCode << (PREFIX_BITS + LINE_NUM_BITS)) | ((long) prefix << LINE_NUM_BITS) | lineNum;
+  }
+
+  public static int areaCode(long packed) {
+    return (int) (packed >>> (PREFIX_BITS + LINE_NUM_BITS));
+  }
+
+  public static int prefix(long packed) {
+    return (int) (packed >>> LINE_NUM_BITS) & ((1 << PREFIX_BITS) - 1);
+  }
+
+  public static int lineNum(long packed) {
+    return (int) packed & ((1 << LINE_NUM_BITS) - 1);
+  }
+
+  public static PhoneNumber toPhoneNumber(long packed) {
+    return new PhoneNumber(areaCode(packed), prefix(packed), lineNum(packed));
+  }
+
+  /*
+   * 유효한 인코딩인지 검사한다(각 필드가 범위 안에 있는 0 이상의 값).
+   */
+  static long checkPacked(long packed) {
+    if ((packed >>> BITS) != 0 || areaCode(packed) > 999 || prefix(packed) > 999 || lineNum(packed) > 9999) {
+      throw new IllegalArgumentException("packed: " + packed);
+    }
+    return packed;
+  }
+
+  /*
+   * 해시 테이블용 인덱스, 이웃한 번호가 이웃한 칸에 몰리지 않도록 피보나치 해싱으로 섞은 뒤 상위 비트를 쓴다.
+   */
+  static int index(long packed, int shift) {
+    return (int) ((packed * 0x9E3779B97F4A7C15L) >>> shift);
+  }
+
+  private static void rangeCheck(int val, int max, String arg) {
+    if (val < 0 || val > max) {
+      throw new IllegalArgumentException(arg + ": " + val);
+    }
+  }
+}
@@ -1,10 +1,13 @@
 package kr.taeu.effectiveJava.item14;
 
+import kr.taeu.effectiveJava.util.PhoneNumberHash;
+
 /*
  * 핵심 필드를 compareTo로 비교해나가는 PhoneNumber 클래스
  */
 public class PhoneNumber implements Comparable<PhoneNumber>{
   private final short areaCode, prefix, lineNum;
+  private int hashCode; // 자동으로 0으로 초기화, hashCode가 처음 불릴 때 계산한다.
   
   public PhoneNumber(int areaCode, int prefix, int lineNum) {
     this.areaCode = rangeCheck(areaCode, 999, "지역코드");
@@ -31,6 +34,19 @@ public class PhoneNumber implements Comparable<PhoneNumber>{
     return pn.lineNum == lineNum && pn.prefix == prefix && pn.areaCode == areaCode;
   }
 
+  /*
+   * 해시 함수는 item10.PhoneNumber와 같은 PhoneNumberHash.hash를 쓰고 캐싱한다.
+   */
+  @Override
+  public int hashCode() {
+    int result = hashCode;
+    if (result == 0) {
+      result = PhoneNumberHash.hash(areaCode, prefix, lineNum);
+      hashCode = result;
+    }
+    return result;
+  }
+
   /*
    * 중요한 필드부터 차례대로 비교해 나간다.
    */
@@ -45,4 +61,21 @@ public class PhoneNumber implements Comparable<PhoneNumber>{
     }
     return result;
   }
+
+  /*
+   * compareTo와 같은 순서의 PackedComparator
+   * 범위가 0 ~ 999, 0 ~ 999, 0 ~ 9999이므로 키는 10, 10, 14비트를 이어 붙인 PackedPhoneNumber 인코딩과 같다.
+   */
+  static final PackedComparator<PhoneNumber> PACKED_COMPARATOR =
+      PackedComparator.comparingInt((PhoneNumber pn) -> pn.areaCode, 0, 999)
+        .thenComparingInt(pn -> pn.prefix, 0, 999)
+        .thenComparingInt(pn -> pn.lineNum, 0, 9999)
+        .buildPacked();
+
+  /*
+   * 세 필드를 long 하나로 인코딩한다(PackedPhoneNumber), PACKED_COMPARATOR의 키와 같다.
+   */
+  public long pack() {
+    return PACKED_COMPARATOR.key(this);
+  }
 }
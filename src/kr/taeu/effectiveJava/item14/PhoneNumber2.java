@@ -2,11 +2,14 @@ package kr.taeu.effectiveJava.item14;
 
 import java.util.Comparator;
 
+import kr.taeu.effectiveJava.util.PhoneNumberHash;
+
 /*
  * Comparator 인터페이스가 비교자 생성 메서드(comparator construction method)와 연쇄 방식으로 비교자를 생성할 수 있게 되었다.
  */
 public class PhoneNumber2 implements Comparable<PhoneNumber2>{
   private final short areaCode, prefix, lineNum;
+  private int hashCode; // 자동으로 0으로 초기화, hashCode가 처음 불릴 때 계산한다.
   
   public PhoneNumber2(int areaCode, int prefix, int lineNum) {
     this.areaCode = rangeCheck(areaCode, 999, "지역코드");
@@ -33,6 +36,19 @@ public class PhoneNumber2 implements Comparable<PhoneNumber2>{
     return pn.lineNum == lineNum && pn.prefix == prefix && pn.areaCode == areaCode;
   }
 
+  /*
+   * equals를 재정의했으니 hashCode도 재정의한다, 다른 PhoneNumber들과 같은 PhoneNumberHash.hash를 캐싱한다.
+   */
+  @Override
+  public int hashCode() {
+    int result = hashCode;
+    if (result == 0) {
+      result = PhoneNumberHash.hash(areaCode, prefix, lineNum);
+      hashCode = result;
+    }
+    return result;
+  }
+
   /*
    * Comparator 생성 메서드를 이용한 방법
    */
@@ -40,9 +56,26 @@ public class PhoneNumber2 implements Comparable<PhoneNumber2>{
       Comparator.comparingInt((PhoneNumber2 pn) -> pn.areaCode)
         .thenComparingInt(pn -> pn.prefix)
         .thenComparingInt(pn -> pn.lineNum);
+
+  /*
+   * 같은 순서를 long 키 하나로 비교하는 비교자(PackedComparator), 세 필드의 범위가 rangeCheck로 정해져 있어 합칠 수 있다.
+   * 범위가 0 ~ 999, 0 ~ 999, 0 ~ 9999이므로 키는 10, 10, 14비트를 이어 붙인 PackedPhoneNumber 인코딩과 같다.
+   */
+  static final PackedComparator<PhoneNumber2> PACKED_COMPARATOR =
+      PackedComparator.comparingInt((PhoneNumber2 pn) -> pn.areaCode, 0, 999)
+        .thenComparingInt(pn -> pn.prefix, 0, 999)
+        .thenComparingInt(pn -> pn.lineNum, 0, 9999)
+        .buildPacked();
   
   @Override
   public int compareTo(PhoneNumber2 pn) {
     return COMPARATOR.compare(this, pn);
   }
+
+  /*
+   * 세 필드를 long 하나로 인코딩한다(PackedPhoneNumber), PACKED_COMPARATOR의 키이므로 값의 대소가 COMPARATOR의 순서와 같다.
+   */
+  public long pack() {
+    return PACKED_COMPARATOR.key(this);
+  }
 }
@@ -0,0 +1,108 @@
+package kr.taeu.effectiveJava.item14;
+
+import java.util.function.ObjLongConsumer;
+
+/*
+ * PackedPhoneNumber 값을 키로 하는 맵 - PhoneNumberSet과 같은 선형 탐사 테이블(PackedKeyTable)에 값 배열을 나란히 둔다.
+ * 키는 박싱하지 않고 long 배열에 그대로 저장하며, 조회할 때 객체를 만들지 않는다.
+ * HashMap처럼 값으로 null을 허용하므로 get이 null을 반환하면 containsKey로 구분하자.
+ */
+public final class PhoneNumberMap<V> {
+  private final PackedKeyTable table;
+
+  public PhoneNumberMap() {
+    this(PackedKeyTable.DEFAULT_EXPECTED_SIZE);
+  }
+
+  public PhoneNumberMap(int expectedSize) {
+    table = new PackedKeyTable(expectedSize, true);
+  }
+
+  public V put(PhoneNumber pn, V value) {
+    return put(pn.pack(), value);
+  }
+
+  public V put(int areaCode, int prefix, int lineNum, V value) {
+    return put(PackedPhoneNumber.pack(areaCode, prefix, lineNum), value);
+  }
+
+  /*
+   * 이전 값을 반환하고, 없었다면 null을 반환한다.
+   */
+  public V put(long packed, V value) {
+    @SuppressWarnings("unchecked") V old = (V) table.put(packed, value); // valueAt과 같은 이유로 안전하다.
+    return old;
+  }
+
+  public V get(PhoneNumber pn) {
+    return get(pn.pack());
+  }
+
+  public V get(int areaCode, int prefix, int lineNum) {
+    return get(PackedPhoneNumber.pack(areaCode, prefix, lineNum));
+  }
+
+  public V get(long packed) {
+    int slot = table.slotOf(packed);
+    return slot < 0 ? null : valueAt(slot);
+  }
+
+  public boolean containsKey(PhoneNumber pn) {
+    return containsKey(pn.pack());
+  }
+
+  public boolean containsKey(int areaCode, int prefix, int lineNum) {
+    return containsKey(PackedPhoneNumber.pack(areaCode, prefix, lineNum));
+  }
+
+  public boolean containsKey(long packed) {
+    return table.slotOf(packed) >= 0;
+  }
+
+  public V remove(PhoneNumber pn) {
+    return remove(pn.pack());
+  }
+
+  public V remove(int areaCode, int prefix, int lineNum) {
+    return remove(PackedPhoneNumber.pack(areaCode, prefix, lineNum));
+  }
+
+  /*
+   * 지운 값을 반환하고, 없었다면 null을 반환한다.
+   */
+  public V remove(long packed) {
+    int slot = table.slotOf(packed);
+    if (slot < 0) {
+      return null;
+    }
+    V old = valueAt(slot);
+    table.removeSlot(slot);
+    return old;
+  }
+
+  public int size() {
+    return table.size();
+  }
+
+  public boolean isEmpty() {
+    return table.size() == 0;
+  }
+
+  /*
+   * 모든 (값, 키) 쌍을 action에 넘긴다, 순서는 정해져 있지 않다.
+   */
+  public void forEach(ObjLongConsumer<? super V> action) {
+    for (int i = 0; i < table.capacity(); i++) {
+      long key = table.keyAt(i);
+      if (key != PackedKeyTable.EMPTY) {
+        action.accept(valueAt(i), key);
+      }
+    }
+  }
+
+  // put으로 V 타입 값만 저장하므로 이 형변환은 안전하다.
+  @SuppressWarnings("unchecked")
+  private V valueAt(int slot) {
+    return (V) table.valueAt(slot);
+  }
+}
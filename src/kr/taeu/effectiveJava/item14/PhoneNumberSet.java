@@ -0,0 +1,82 @@
+package kr.taeu.effectiveJava.item14;
+
+import java.util.function.LongConsumer;
+
+/*
+ * PackedPhoneNumber 값을 원소로 하는 집합 - long 배열 하나에 선형 탐사(open addressing)로 저장한다(PackedKeyTable).
+ * HashSet<PhoneNumber>는 원소마다 PhoneNumber 객체, HashMap.Node, 테이블 칸을 쓰지만
+ * 이 집합은 원소마다 long 하나(빈 칸 포함 평균 11 ~ 22바이트)만 쓴다.
+ * 조회는 기본 타입만 다루므로 객체를 하나도 만들지 않는다.
+ */
+public final class PhoneNumberSet {
+  private final PackedKeyTable table;
+
+  public PhoneNumberSet() {
+    this(PackedKeyTable.DEFAULT_EXPECTED_SIZE);
+  }
+
+  public PhoneNumberSet(int expectedSize) {
+    table = new PackedKeyTable(expectedSize, false);
+  }
+
+  public boolean add(PhoneNumber pn) {
+    return add(pn.pack());
+  }
+
+  public boolean add(int areaCode, int prefix, int lineNum) {
+    return add(PackedPhoneNumber.pack(areaCode, prefix, lineNum));
+  }
+
+  public boolean add(long packed) {
+    return table.add(packed);
+  }
+
+  public boolean contains(PhoneNumber pn) {
+    return contains(pn.pack());
+  }
+
+  public boolean contains(int areaCode, int prefix, int lineNum) {
+    return contains(PackedPhoneNumber.pack(areaCode, prefix, lineNum));
+  }
+
+  public boolean contains(long packed) {
+    return table.slotOf(packed) >= 0;
+  }
+
+  public boolean remove(PhoneNumber pn) {
+    return remove(pn.pack());
+  }
+
+  public boolean remove(int areaCode, int prefix, int lineNum) {
+    return remove(PackedPhoneNumber.pack(areaCode, prefix, lineNum));
+  }
+
+  public boolean remove(long packed) {
+    int slot = table.slotOf(packed);
+    if (slot < 0) {
+      return false;
+    }
+    table.removeSlot(slot);
+    return true;
+  }
+
+  public int size() {
+    return table.size();
+  }
+
+  public boolean isEmpty() {
+    return table.size() == 0;
+  }
+
+  /*
+   * 모든 원소를 action에 넘긴다, 순서는 정해져 있지 않다.
+   */
+  public void forEach(LongConsumer action) {
+    for (int i = 0; i < table.capacity(); i++) {
+      long key = table.keyAt(i);
+      if (key != PackedKeyTable.EMPTY) {
+        action.accept(key);
+      }
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package kr.taeu.effectiveJava.item14;
+
+import static kr.taeu.effectiveJava.util.Memory.allocatedBytes;
+import static kr.taeu.effectiveJava.util.Memory.usedHeap;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/*
+ * 전화번호 N개를 담은 HashSet<PhoneNumber>와 PhoneNumberSet의 메모리 사용량, 조회 처리량 비교
+ * 메모리는 GC 직후 힙 사용량의 차이로, 조회 중 할당량은 HotSpot의 스레드별 할당 바이트 카운터로 잰다.
+ * HashSet 조회에는 저장한 인스턴스를 그대로 써서, 캐싱된 hashCode로 얻을 수 있는 가장 좋은 경우를 잰다.
+ */
+public class PhoneNumberSetBenchmark {
+  private static final int N = 2_000_000;
+  private static final int LOOKUPS = 20_000_000;
+
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    long[] packed = new long[N];
+    PhoneNumber[] numbers = new PhoneNumber[N];
+    for (int i = 0; i < N; i++) {
+      numbers[i] = new PhoneNumber(random.nextInt(1000), random.nextInt(1000), random.nextInt(10000));
+      packed[i] = numbers[i].pack();
+    }
+    int[] queries = new int[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      queries[i] = random.nextInt(N);
+    }
+
+    long before = usedHeap();
+    Set<PhoneNumber> hashSet = new HashSet<>();
+    for (int i = 0; i < N; i++) {
+      hashSet.add(new PhoneNumber(PackedPhoneNumber.areaCode(packed[i]), PackedPhoneNumber.prefix(packed[i]),
+          PackedPhoneNumber.lineNum(packed[i])));
+    }
+    long hashSetBytes = usedHeap() - before;
+    hashSet = null;
+    // 조회용 HashSet은 numbers의 인스턴스를 담아 PhoneNumber 객체를 따로 세지 않는다.
+    Set<PhoneNumber> lookupSet = new HashSet<>();
+    for (PhoneNumber pn : numbers) {
+      lookupSet.add(pn);
+    }
+
+    before = usedHeap();
+    PhoneNumberSet packedSet = new PhoneNumberSet();
+    for (long p : packed) {
+      packedSet.add(p);
+    }
+    long packedSetBytes = usedHeap() - before;
+
+    System.out.printf("HashSet<PhoneNumber> %,12d bytes (%5.1f bytes/entry)%n", hashSetBytes, (double) hashSetBytes / N);
+    System.out.printf("PhoneNumberSet       %,12d bytes (%5.1f bytes/entry)%n", packedSetBytes, (double) packedSetBytes / N);
+
+    for (int round = 0; round < 3; round++) { // 워밍업 2회 + 측정 1회
+      boolean print = round == 2;
+      long bytes = allocatedBytes();
+      long start = System.nanoTime();
+      int hits = 0;
+      for (int q : queries) {
+        if (lookupSet.contains(numbers[q])) {
+          hits++;
+        }
+      }
+      report("HashSet<PhoneNumber>", start, bytes, hits, print);
+
+      bytes = allocatedBytes();
+      start = System.nanoTime();
+      hits = 0;
+      for (int q : queries) {
+        if (packedSet.contains(packed[q])) {
+          hits++;
+        }
+      }
+      report("PhoneNumberSet", start, bytes, hits, print);
+    }
+  }
+
+  private static void report(String name, long start, long bytesBefore, int hits, boolean print) {
+    long elapsed = System.nanoTime() - start;
+    long allocated = allocatedBytes() - bytesBefore;
+    if (print) {
+      System.out.printf("%-20s %6.2f ns/lookup, %,d bytes allocated (hits=%d)%n",
+          name, (double) elapsed / LOOKUPS, allocated, hits);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package kr.taeu.effectiveJava.item14;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/*
+ * PhoneNumber 배열을 compareTo 순서로 정렬하는 LSD 기수 정렬
+ * Arrays.sort는 비교마다 compareTo(또는 COMPARATOR의 람다 세 개)를 호출하고 두 객체를 따라가 필드를 읽는다.
+ * 여기서는 원소마다 PACKED_COMPARATOR의 키(PackedPhoneNumber, 34비트)를 한 번만 뽑아 원래 위치와 함께 long 하나에 담고,
+ * 그 long 배열을 키 부분만 보고 자릿수별로 분배(34비트면 세 번)한 뒤 원래 위치를 따라 원소를 옮긴다.
+ * LSD 기수 정렬은 안정 정렬이라 같은 번호끼리의 순서도 Arrays.sort와 같다.
+ * PackedComparator.sort도 같은 방법으로 정렬한다.
+ *
+ * parallel이면 키 추출, 각 자릿수의 도수 세기와 분배, 마지막 재배치를 구간으로 나눠 공용 ForkJoinPool에서 실행한다.
+ */
+public final class PhoneNumberSort {
+  private static final int MAX_BITS = 63; // 키와 위치를 합친 비트 수, 부호 비트는 쓰지 않는다.
+  private static final int MAX_DIGIT_BITS = 12; // 한 번 분배할 때 보는 비트 수, 도수 배열이 캐시에 들어가는 크기
+  private static final int PARALLEL_CHUNK = 1 << 16;
+
+  private PhoneNumberSort() {
+  }
+
+  public static void sort(PhoneNumber[] a) {
+    sort(a, PhoneNumber.PACKED_COMPARATOR, false);
+  }
+
+  public static void parallelSort(PhoneNumber[] a) {
+    sort(a, PhoneNumber.PACKED_COMPARATOR, true);
+  }
+
+  public static void sort(PhoneNumber2[] a) {
+    sort(a, PhoneNumber2.PACKED_COMPARATOR, false);
+  }
+
+  public static void parallelSort(PhoneNumber2[] a) {
+    sort(a, PhoneNumber2.PACKED_COMPARATOR, true);
+  }
+
+  /*
+   * PackedPhoneNumber 값 자체를 정렬한다.
+   */
+  public static void sort(long[] packed) {
+    for (long p : packed) {
+      PackedPhoneNumber.checkPacked(p);
+    }
+    radixSort(packed, 0, PackedPhoneNumber.BITS, false);
+  }
+
+  /*
+   * comparator의 키(bits()비트)로 a를 정렬한다. 키와 위치를 long 하나에 담을 수 없으면 Arrays.sort(a, comparator)로 정렬한다.
+   */
+  static <T> void sort(T[] a, PackedComparator<? super T> comparator, boolean parallel) {
+    int n = a.length;
+    int keyBits = comparator.bits();
+    int indexBits = 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 0));
+    if (keyBits + indexBits > MAX_BITS) {
+      if (parallel) {
+        Arrays.parallelSort(a, comparator);
+      } else {
+        Arrays.sort(a, comparator);
+      }
+      return;
+    }
+    long[] entries = new long[n];
+    forRange(n, parallel, (from, to) -> {
+      for (int i = from; i < to; i++) {
+        entries[i] = comparator.key(a[i]) << indexBits | i;
+      }
+    });
+    radixSort(entries, indexBits, keyBits, parallel);
+
+    T[] original = a.clone();
+    long indexMask = (1L << indexBits) - 1;
+    forRange(n, parallel, (from, to) -> {
+      for (int i = from; i < to; i++) {
+        a[i] = original[(int) (entries[i] & indexMask)];
+      }
+    });
+  }
+
+  /*
+   * values의 [lowBit, lowBit + keyBits) 비트를 키로 안정 정렬한다.
+   * 키를 MAX_DIGIT_BITS 이하의 자릿수로 고르게 나눈다(34비트면 12, 11, 11).
+   */
+  private static void radixSort(long[] values, int lowBit, int keyBits, boolean parallel) {
+    long[] src = values;
+    long[] dst = new long[values.length];
+    int passes = (keyBits + MAX_DIGIT_BITS - 1) / MAX_DIGIT_BITS;
+    int shift = lowBit;
+    for (int p = 0; p < passes; p++) {
+      int bits = keyBits / passes + (p < keyBits % passes ? 1 : 0);
+      boolean moved = parallel && values.length > PARALLEL_CHUNK
+          ? parallelPass(src, dst, shift, bits)
+          : pass(src, dst, shift, bits);
+      if (moved) {
+        long[] t = src;
+        src = dst;
+        dst = t;
+      }
+      shift += bits;
+    }
+    if (src != values) {
+      System.arraycopy(src, 0, values, 0, values.length);
+    }
+  }
+
+  /*
+   * 한 자릿수로 src를 dst에 분배한다. 모든 원소의 자릿수가 같아 순서가 바뀌지 않으면 옮기지 않고 false를 반환한다.
+   */
+  private static boolean pass(long[] src, long[] dst, int shift, int bits) {
+    int mask = (1 << bits) - 1;
+    int[] offsets = new int[1 << bits];
+    for (long v : src) {
+      offsets[(int) (v >>> shift) & mask]++;
+    }
+    if (src.length == 0 || offsets[(int) (src[0] >>> shift) & mask] == src.length) {
+      return false;
+    }
+    int sum = 0;
+    for (int d = 0; d < offsets.length; d++) {
+      int count = offsets[d];
+      offsets[d] = sum;
+      sum += count;
+    }
+    for (long v : src) {
+      dst[offsets[(int) (v >>> shift) & mask]++] = v;
+    }
+    return true;
+  }
+
+  /*
+   * 구간마다 도수를 세고, (자릿수, 구간) 순서로 누적한 위치에 각 구간이 자기 원소를 분배한다.
+   * 같은 자릿수 안에서 앞 구간의 원소가 항상 앞에 오므로 순차 분배와 결과가 같다.
+   */
+  private static boolean parallelPass(long[] src, long[] dst, int shift, int bits) {
+    int mask = (1 << bits) - 1;
+    int chunks = (src.length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+    int[][] offsets = new int[chunks][1 << bits];
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      int[] count = offsets[c];
+      for (int i = c * PARALLEL_CHUNK, end = Math.min(src.length, i + PARALLEL_CHUNK); i < end; i++) {
+        count[(int) (src[i] >>> shift) & mask]++;
+      }
+    });
+    int first = (int) (src[0] >>> shift) & mask;
+    int firstCount = 0;
+    for (int c = 0; c < chunks; c++) {
+      firstCount += offsets[c][first];
+    }
+    if (firstCount == src.length) {
+      return false;
+    }
+    int sum = 0;
+    for (int d = 0; d <= mask; d++) {
+      for (int c = 0; c < chunks; c++) {
+        int count = offsets[c][d];
+        offsets[c][d] = sum;
+        sum += count;
+      }
+    }
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      int[] offset = offsets[c];
+      for (int i = c * PARALLEL_CHUNK, end = Math.min(src.length, i + PARALLEL_CHUNK); i < end; i++) {
+        long v = src[i];
+        dst[offset[(int) (v >>> shift) & mask]++] = v;
+      }
+    });
+    return true;
+  }
+
+  @FunctionalInterface
+  private interface RangeAction {
+    void run(int from, int to);
+  }
+
+  private static void forRange(int n, boolean parallel, RangeAction action) {
+    if (!parallel || n <= PARALLEL_CHUNK) {
+      action.run(0, n);
+      return;
+    }
+    int chunks = (n + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+    IntStream.range(0, chunks).parallel()
+        .forEach(c -> action.run(c * PARALLEL_CHUNK, Math.min(n, (c + 1) * PARALLEL_CHUNK)));
+  }
+}
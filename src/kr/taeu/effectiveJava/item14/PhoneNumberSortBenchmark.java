@@ -0,0 +1,54 @@
+package kr.taeu.effectiveJava.item14;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/*
+ * 무작위 전화번호 배열을 Arrays.sort, Arrays.parallelSort(비교자)와 PhoneNumberSort로 정렬하는 시간 비교
+ * PhoneNumber는 직접 작성한 compareTo, PhoneNumber2는 비교자 생성 메서드로 만든 COMPARATOR로 비교한다.
+ * 원소 수는 첫 번째 인자로 바꿀 수 있다(기본 5,000,000, 힙에 따라 -Xmx를 늘리자).
+ */
+public class PhoneNumberSortBenchmark {
+  public static void main(String[] args) {
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+    Random random = new Random(42);
+    PhoneNumber[] numbers = new PhoneNumber[n];
+    PhoneNumber2[] numbers2 = new PhoneNumber2[n];
+    for (int i = 0; i < n; i++) {
+      int areaCode = random.nextInt(1000);
+      int prefix = random.nextInt(1000);
+      int lineNum = random.nextInt(10000);
+      numbers[i] = new PhoneNumber(areaCode, prefix, lineNum);
+      numbers2[i] = new PhoneNumber2(areaCode, prefix, lineNum);
+    }
+
+    for (int round = 0; round < 3; round++) { // 워밍업 2회 + 측정 1회
+      boolean print = round == 2;
+      measure("PhoneNumber  Arrays.sort", numbers, Arrays::sort, print);
+      measure("PhoneNumber  Arrays.parallelSort", numbers, Arrays::parallelSort, print);
+      measure("PhoneNumber  radix", numbers, PhoneNumberSort::sort, print);
+      measure("PhoneNumber  radix parallel", numbers, PhoneNumberSort::parallelSort, print);
+      // PhoneNumber2.compareTo는 COMPARATOR에 위임한다.
+      measure("PhoneNumber2 Arrays.sort", numbers2, a -> Arrays.sort(a, Comparator.naturalOrder()), print);
+      measure("PhoneNumber2 Arrays.parallelSort", numbers2, a -> Arrays.parallelSort(a, Comparator.naturalOrder()), print);
+      measure("PhoneNumber2 radix", numbers2, PhoneNumberSort::sort, print);
+      measure("PhoneNumber2 radix parallel", numbers2, PhoneNumberSort::parallelSort, print);
+    }
+  }
+
+  @FunctionalInterface
+  interface Sorter<T> {
+    void sort(T[] a);
+  }
+
+  private static <T> void measure(String name, T[] original, Sorter<T> sorter, boolean print) {
+    T[] a = original.clone();
+    long start = System.nanoTime();
+    sorter.sort(a);
+    long elapsed = System.nanoTime() - start;
+    if (print) {
+      System.out.printf("%-33s %,8d ms (%5.1f ns/element)%n", name, elapsed / 1_000_000, (double) elapsed / a.length);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package kr.taeu.effectiveJava.item29;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * 여러 스레드가 함께 쓰는 제네릭 스택 - 락 없는 Treiber 스택 + 소거(elimination) 백오프
+ * push와 pop은 맨 위 노드를 CAS로 바꾼다. 경합으로 CAS가 실패하면 소거 배열의 임의 칸에서
+ * 반대 연산을 만나 보고, 만나면 스택을 건드리지 않고 push한 원소를 pop에 바로 넘겨준다.
+ * 경합이 심할수록 서로 상쇄되는 쌍이 많아져 맨 위 노드 하나에 몰리는 CAS가 줄어든다.
+ *
+ * 노드는 불변으로 만들고 한 번 꺼낸 노드는 재사용하지 않으므로 ABA 문제가 생기지 않는다.
+ */
+public class LockFreeStack<E> {
+  private static final Object TAKEN = new Object(); // pop이 가져간 칸의 표시
+  private static final int SPINS = 64;
+
+  private final AtomicReference<Node<E>> top = new AtomicReference<>();
+  private final AtomicReferenceArray<Object> eliminationArray =
+      new AtomicReferenceArray<>(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+  private static final class Node<E> {
+    final E item;
+    final Node<E> next;
+
+    Node(E item, Node<E> next) {
+      this.item = item;
+      this.next = next;
+    }
+  }
+
+  public void push(E e) {
+    while (true) {
+      Node<E> oldTop = top.get();
+      Node<E> node = new Node<>(e, oldTop);
+      if (top.compareAndSet(oldTop, node)) {
+        return;
+      }
+      if (eliminatePush(node)) {
+        return;
+      }
+    }
+  }
+
+  /*
+   * 스택이 비었으면 Stack4와 마찬가지로 EmptyStackException을 던진다.
+   */
+  public E pop() {
+    while (true) {
+      Node<E> oldTop = top.get();
+      if (oldTop == null) {
+        throw new EmptyStackException();
+      }
+      if (top.compareAndSet(oldTop, oldTop.next)) {
+        return oldTop.item;
+      }
+      Node<E> eliminated = eliminatePop();
+      if (eliminated != null) {
+        return eliminated.item;
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return top.get() == null;
+  }
+
+  /*
+   * 빈 칸에 노드를 올려두고 잠시 기다린다. 그동안 pop이 가져가면 push가 끝난 것이다.
+   */
+  private boolean eliminatePush(Node<E> node) {
+    int slot = ThreadLocalRandom.current().nextInt(eliminationArray.length());
+    if (!eliminationArray.compareAndSet(slot, null, node)) {
+      return false; // 다른 push가 쓰고 있다.
+    }
+    for (int i = 0; i < SPINS; i++) {
+      if (eliminationArray.get(slot) == TAKEN) {
+        eliminationArray.set(slot, null);
+        return true;
+      }
+    }
+    if (eliminationArray.compareAndSet(slot, node, null)) {
+      return false; // 아무도 가져가지 않아 물린다.
+    }
+    eliminationArray.set(slot, null); // 물리기 직전에 pop이 가져갔다.
+    return true;
+  }
+
+  /*
+   * 임의 칸에 기다리는 push가 있으면 그 노드를 가져온다. pop은 기다리지 않는다.
+   */
+  @SuppressWarnings("unchecked")
+  private Node<E> eliminatePop() {
+    int slot = ThreadLocalRandom.current().nextInt(eliminationArray.length());
+    Object waiting = eliminationArray.get(slot);
+    if (waiting instanceof Node && eliminationArray.compareAndSet(slot, waiting, TAKEN)) {
+      return (Node<E>) waiting;
+    }
+    return null;
+  }
+}
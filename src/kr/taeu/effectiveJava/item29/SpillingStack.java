@@ -0,0 +1,177 @@
+package kr.taeu.effectiveJava.item29;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Objects;
+
+/*
+ * 힙보다 큰 작업 집합을 위한 제네릭 스택 - 차가운 원소는 임시 파일로 내려보낸다(spill).
+ * 메모리에는 맨 위 원소들(최대 2 * pageSize개)만 두고, 가득 차면 가장 아래 페이지를 Codec으로 직렬화해
+ * 파일 끝에 덧붙인다. pop이 메모리의 원소를 다 쓰면 파일 끝의 페이지를 다시 읽어온다.
+ * 파일은 항상 끝에서만 쓰고 읽으므로 입출력은 페이지 단위의 순차 접근뿐이다.
+ *
+ * 메모리 사용량은 원소 2 * pageSize개와 페이지 버퍼 하나로 일정하다.
+ * 페이지를 읽어온 직후에는 pageSize개 여유가 있어 경계에서 push/pop이 반복돼도 입출력이 되풀이되지 않는다.
+ * 임시 파일을 지우려면 close를 호출해야 하므로 try-with-resources와 함께 쓰자(item9).
+ */
+public class SpillingStack<E> implements AutoCloseable {
+  /*
+   * 원소를 바이트로 바꾸는 방법, 원소 하나는 maxEncodedSize 바이트를 넘지 않아야 한다.
+   */
+  public interface Codec<E> {
+    int maxEncodedSize();
+    void encode(E e, ByteBuffer dst);
+    E decode(ByteBuffer src);
+  }
+
+  private static final int DEFAULT_PAGE_SIZE = 64 * 1024;
+
+  private final Codec<E> codec;
+  private final int pageSize;
+  private final Path directory;
+  private final Object[] hot;     // 메모리에 있는 맨 위 원소들, hot[hotSize - 1]이 맨 위
+  private int hotSize = 0;
+  private final ByteBuffer page;  // 페이지 하나를 직렬화하는 재사용 버퍼
+
+  private FileChannel file;       // 처음 내려보낼 때 만든다.
+  private long[] pageStarts = new long[16];
+  private int pageCount = 0;
+  private long fileEnd = 0;
+  private long size = 0;
+  private boolean closed = false;
+
+  public SpillingStack(Codec<E> codec, Path directory) {
+    this(codec, directory, DEFAULT_PAGE_SIZE);
+  }
+
+  public SpillingStack(Codec<E> codec, Path directory, int pageSize) {
+    if (pageSize <= 0 || (long) pageSize * codec.maxEncodedSize() > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("pageSize: " + pageSize);
+    }
+    this.codec = Objects.requireNonNull(codec);
+    this.directory = Objects.requireNonNull(directory);
+    this.pageSize = pageSize;
+    this.hot = new Object[2 * pageSize];
+    this.page = ByteBuffer.allocateDirect(pageSize * codec.maxEncodedSize());
+  }
+
+  public void push(E e) {
+    ensureOpen();
+    if (hotSize == hot.length) {
+      spill();
+    }
+    hot[hotSize++] = e;
+    size++;
+  }
+
+  public E pop() {
+    ensureOpen();
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    if (hotSize == 0) {
+      load();
+    }
+    @SuppressWarnings("unchecked") E result = (E) hot[--hotSize];
+    hot[hotSize] = null; // 다 쓴 참조 해제
+    size--;
+    return result;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /*
+   * 임시 파일을 닫고 지운다(DELETE_ON_CLOSE).
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    if (file != null) {
+      file.close();
+      file = null;
+    }
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new IllegalStateException("closed");
+    }
+  }
+
+  /*
+   * 가장 아래 pageSize개를 파일 끝에 쓰고 나머지를 아래로 당긴다.
+   */
+  private void spill() {
+    page.clear();
+    for (int i = 0; i < pageSize; i++) {
+      @SuppressWarnings("unchecked") E e = (E) hot[i];
+      codec.encode(e, page);
+    }
+    page.flip();
+    try {
+      if (file == null) {
+        Path path = Files.createTempFile(directory, "spilling-stack", ".tmp");
+        file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+      }
+      long start = fileEnd;
+      long end = start;
+      while (page.hasRemaining()) {
+        end += file.write(page, end);
+      }
+      // 쓰기가 끝까지 성공한 다음에만 페이지를 기록한다. 중간에 실패하면 반쯤 쓴 바이트는 다음 spill이 덮어쓴다.
+      if (pageCount == pageStarts.length) {
+        pageStarts = Arrays.copyOf(pageStarts, 2 * pageCount);
+      }
+      pageStarts[pageCount++] = start;
+      fileEnd = end;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    System.arraycopy(hot, pageSize, hot, 0, hotSize - pageSize);
+    Arrays.fill(hot, hotSize - pageSize, hotSize, null);
+    hotSize -= pageSize;
+  }
+
+  /*
+   * 파일 끝의 페이지를 읽어 메모리로 올리고, 그만큼 파일의 논리적인 끝을 당긴다(다음 spill이 그 자리를 덮어쓴다).
+   * 읽기나 디코딩이 실패하면 페이지를 파일에 그대로 남겨 두므로 다시 pop할 수 있다.
+   */
+  private void load() {
+    long start = pageStarts[pageCount - 1];
+    page.clear();
+    page.limit((int) (fileEnd - start));
+    try {
+      long position = start;
+      while (page.hasRemaining()) {
+        int n = file.read(page, position);
+        if (n < 0) {
+          throw new IOException("임시 파일이 예상보다 짧습니다.");
+        }
+        position += n;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    page.flip();
+    for (int i = 0; i < pageSize; i++) {
+      hot[i] = codec.decode(page);
+    }
+    hotSize = pageSize;
+    pageCount--;
+    fileEnd = start;
+  }
+}
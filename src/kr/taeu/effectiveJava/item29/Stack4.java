@@ -1,6 +1,7 @@
 package kr.taeu.effectiveJava.item29;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EmptyStackException;
 
 /*
@@ -43,6 +44,59 @@ public class Stack4<E> {
     return result;
   }
   
+  /*
+   * src의 원소를 순서대로 push한다.
+   * Collection이면 toArray로 한 번에 꺼내 용량을 한 번만 늘리고 System.arraycopy로 옮긴다.
+   * toArray가 만든 배열은 E 타입 원소만 담으므로 elements에 넣어도 안전하다.
+   */
+  public void pushAll(Iterable<? extends E> src) {
+    if (src instanceof Collection) {
+      Object[] a = ((Collection<? extends E>) src).toArray();
+      appendAll(a, a.length);
+      return;
+    }
+    for (E e : src) {
+      push(e);
+    }
+  }
+
+  public void pushAll(E[] src) {
+    appendAll(src, src.length);
+  }
+
+  /*
+   * 모든 원소를 pop한 순서대로(맨 위 원소부터) dst에 담는다.
+   * 뒤집은 배열을 addAll로 한 번에 넘긴 다음 비운 칸을 한 번에 null로 채운다.
+   * dst.addAll이 예외를 던지면 스택의 원소는 하나도 빠지지 않지만, dst에는 그 전까지 담긴 원소가 남아 있을 수 있다.
+   */
+  public void popAll(Collection<? super E> dst) {
+    Object[] drained = new Object[size];
+    for (int i = 0; i < size; i++) {
+      drained[i] = elements[size - 1 - i];
+    }
+    // drained에는 push로 들어온 E 타입 원소만 있으므로 이 형변환은 안전하다.
+    @SuppressWarnings("unchecked") Collection<E> view = (Collection<E>) Arrays.asList(drained);
+    dst.addAll(view);
+    Arrays.fill(elements, 0, size, null); // 다 쓴 참조 해제
+    size = 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  private void appendAll(Object[] src, int length) {
+    if (size + length > elements.length) {
+      elements = Arrays.copyOf(elements, Math.max(2 * elements.length + 1, size + length));
+    }
+    System.arraycopy(src, 0, elements, size, length);
+    size += length;
+  }
+
   private void ensureCapacity() {
     if (elements.length == size) {
       elements = Arrays.copyOf(elements, 2 * size + 1);
@@ -0,0 +1,79 @@
+package kr.taeu.effectiveJava.item29;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Stack4에 원소를 하나씩 넣고 빼는 루프와 pushAll/popAll의 처리량 비교
+ */
+public class Stack4BulkBenchmark {
+  private static final int BATCH = 10_000;
+  private static final int ROUNDS = 5_000;
+
+  public static void main(String[] args) {
+    List<Integer> src = new ArrayList<>(BATCH);
+    for (int i = 0; i < BATCH; i++) {
+      src.add(i);
+    }
+    Integer[] array = src.toArray(new Integer[0]);
+    List<Integer> dst = new ArrayList<>(BATCH);
+
+    for (int round = 0; round < 3; round++) { // 워밍업 2회 + 측정 1회
+      boolean print = round == 2;
+      perElement(src, dst, print);
+      bulk(src, dst, print);
+      bulkArray(array, dst, print);
+    }
+  }
+
+  private static void perElement(List<Integer> src, List<Integer> dst, boolean print) {
+    Stack4<Integer> stack = new Stack4<>();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int r = 0; r < ROUNDS; r++) {
+      for (Integer e : src) {
+        stack.push(e);
+      }
+      while (!stack.isEmpty()) {
+        dst.add(stack.pop());
+      }
+      sum += dst.get(0);
+      dst.clear();
+    }
+    report("push/pop loop", start, sum, print);
+  }
+
+  private static void bulk(List<Integer> src, List<Integer> dst, boolean print) {
+    Stack4<Integer> stack = new Stack4<>();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int r = 0; r < ROUNDS; r++) {
+      stack.pushAll(src);
+      stack.popAll(dst);
+      sum += dst.get(0);
+      dst.clear();
+    }
+    report("pushAll(List)", start, sum, print);
+  }
+
+  private static void bulkArray(Integer[] src, List<Integer> dst, boolean print) {
+    Stack4<Integer> stack = new Stack4<>();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int r = 0; r < ROUNDS; r++) {
+      stack.pushAll(src);
+      stack.popAll(dst);
+      sum += dst.get(0);
+      dst.clear();
+    }
+    report("pushAll(E[])", start, sum, print);
+  }
+
+  private static void report(String name, long start, long sum, boolean print) {
+    long elapsed = System.nanoTime() - start;
+    if (print) {
+      System.out.printf("%-14s %6.2f ns/element (sum=%d)%n",
+          name, (double) elapsed / ((long) ROUNDS * BATCH), sum);
+    }
+  }
+}
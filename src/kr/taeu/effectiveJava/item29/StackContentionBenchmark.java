@@ -0,0 +1,72 @@
+package kr.taeu.effectiveJava.item29;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+
+/*
+ * 1, 2, 4, 8, 16 스레드가 push/pop 쌍을 반복할 때의 처리량
+ * synchronized로 감싼 Stack4, ConcurrentLinkedDeque, LockFreeStack 비교
+ */
+public class StackContentionBenchmark {
+  private static final int PAIRS = 4_000_000;
+
+  interface ConcurrentStack {
+    void push(Integer e);
+    Integer pop();
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    for (int round = 0; round < 2; round++) { // 워밍업 1회 + 측정 1회
+      for (int threads = 1; threads <= 16; threads *= 2) {
+        Stack4<Integer> locked = new Stack4<>();
+        run("synchronized Stack4", threads, round, new ConcurrentStack() {
+          @Override public void push(Integer e) { synchronized (locked) { locked.push(e); } }
+          @Override public Integer pop() { synchronized (locked) { return locked.pop(); } }
+        });
+        ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+        run("ConcurrentLinkedDeque", threads, round, new ConcurrentStack() {
+          @Override public void push(Integer e) { deque.push(e); }
+          @Override public Integer pop() { return deque.pop(); }
+        });
+        LockFreeStack<Integer> lockFree = new LockFreeStack<>();
+        run("LockFreeStack", threads, round, new ConcurrentStack() {
+          @Override public void push(Integer e) { lockFree.push(e); }
+          @Override public Integer pop() { return lockFree.pop(); }
+        });
+      }
+    }
+  }
+
+  private static void run(String name, int threads, int round, ConcurrentStack stack) throws InterruptedException {
+    int perThread = PAIRS / threads;
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      Thread worker = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        Integer value = 42;
+        for (int i = 0; i < perThread; i++) {
+          stack.push(value);
+          stack.pop(); // 자기가 넣은 원소가 남아 있으므로 비어 있을 수 없다.
+        }
+      });
+      worker.start();
+      workers.add(worker);
+    }
+    long begin = System.nanoTime();
+    start.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    long elapsed = System.nanoTime() - begin;
+    if (round == 1) {
+      System.out.printf("%-22s threads %2d: %,12.0f pairs/s%n", name, threads, perThread * threads * 1e9 / elapsed);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package kr.taeu.effectiveJava.item29;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 재귀 피보나치를 작업 단위로 쪼개 워커들이 나눠 처리하는 작은 스케줄러
+ * 첫 작업은 0번 워커에게만 주어진다. 훔치기를 끄면 0번 워커 혼자 모든 작업을 처리하고,
+ * 켜면 다른 워커들이 훔쳐가면서 작업이 고르게 나뉜다. 워커별 처리 작업 수로 부하 분산을 확인한다.
+ */
+public class WorkStealingBenchmark {
+  private static final int N = 40;
+  private static final int THRESHOLD = 20; // 이보다 작으면 더 쪼개지 않고 바로 계산한다.
+
+  public static void main(String[] args) throws InterruptedException {
+    int workers = Math.max(2, Runtime.getRuntime().availableProcessors());
+    for (int round = 0; round < 2; round++) { // 워밍업 1회 + 측정 1회
+      run(workers, false, round == 1);
+      run(workers, true, round == 1);
+    }
+  }
+
+  private static void run(int workerCount, boolean stealing, boolean print) throws InterruptedException {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    WorkStealingDeque<Integer>[] deques = new WorkStealingDeque[workerCount];
+    for (int i = 0; i < workerCount; i++) {
+      deques[i] = new WorkStealingDeque<>();
+    }
+    AtomicLong pending = new AtomicLong(1); // 아직 끝나지 않은 작업 수
+    LongAdder result = new LongAdder();
+    long[] executed = new long[workerCount];
+    deques[0].push(N);
+
+    Thread[] threads = new Thread[workerCount];
+    long start = System.nanoTime();
+    for (int w = 0; w < workerCount; w++) {
+      int id = w;
+      threads[w] = new Thread(() -> {
+        WorkStealingDeque<Integer> own = deques[id];
+        long count = 0;
+        while (pending.get() > 0) {
+          Integer n = own.pop();
+          if (n == null && stealing) {
+            n = deques[ThreadLocalRandom.current().nextInt(workerCount)].steal();
+          }
+          if (n == null) {
+            Thread.yield();
+            continue;
+          }
+          count++;
+          if (n < THRESHOLD) {
+            result.add(fib(n));
+            pending.decrementAndGet();
+          } else {
+            pending.incrementAndGet(); // 작업 하나가 둘로 나뉜다.
+            own.push(n - 1);
+            own.push(n - 2);
+          }
+        }
+        executed[id] = count;
+      });
+      threads[w].start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    long elapsed = System.nanoTime() - start;
+    if (print) {
+      System.out.printf("stealing %-5s: fib(%d)=%d in %d ms, tasks per worker %s%n",
+          stealing, N, result.sum(), elapsed / 1_000_000, Arrays.toString(executed));
+    }
+  }
+
+  private static long fib(int n) {
+    return n < 2 ? n : fib(n - 1) + fib(n - 2);
+  }
+}
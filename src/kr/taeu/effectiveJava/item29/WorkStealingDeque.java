@@ -0,0 +1,118 @@
+package kr.taeu.effectiveJava.item29;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * Chase-Lev 작업 훔치기(work-stealing) 덱
+ * 주인 스레드는 Stack4처럼 한쪽 끝(bottom)에서 LIFO로 push/pop하고,
+ * 일이 없는 다른 스레드는 반대쪽 끝(top)에서 FIFO로 훔쳐간다(steal).
+ * 주인의 push/pop은 원소가 하나 남았을 때를 빼면 CAS 없이 끝나고, 도둑끼리만 top을 CAS로 다툰다.
+ *
+ * 배열이 가득 차면 Stack4.ensureCapacity처럼 두 배 크기의 배열로 옮긴다.
+ * 인덱스를 비트 마스크로 순환시키므로 용량은 2 * size + 1이 아닌 2의 거듭제곱으로 늘린다.
+ * 꺼낸 칸은 null로 비워(item7) 다 쓴 참조를 남기지 않는다. 도둑이 가져간 칸은 도둑이 비우면
+ * 주인이 같은 칸에 새로 쓴 원소를 지울 수 있으므로, 주인이 다음 push 때 top 아래 칸들을 비운다.
+ */
+public class WorkStealingDeque<E> {
+  private static final int DEFAULT_INITIAL_CAPACITY = 16;
+  @SuppressWarnings("rawtypes")
+  private static final AtomicLongFieldUpdater<WorkStealingDeque> TOP =
+      AtomicLongFieldUpdater.newUpdater(WorkStealingDeque.class, "top");
+
+  private volatile long top = 0;    // 다음에 훔쳐갈 위치
+  private volatile long bottom = 0; // 다음에 push할 위치
+  private volatile AtomicReferenceArray<E> elements = new AtomicReferenceArray<>(DEFAULT_INITIAL_CAPACITY);
+  private long cleared = 0;         // 주인 전용, 이 위치 아래의 칸은 이미 비웠다.
+
+  /*
+   * 주인 스레드만 호출해야 한다. pop과 steal이 null로 '없음'을 알리므로 null은 넣을 수 없다.
+   */
+  public void push(E e) {
+    Objects.requireNonNull(e);
+    long b = bottom;
+    long t = top;
+    AtomicReferenceArray<E> a = elements;
+    if (b - t >= a.length() - 1) {
+      a = grow(a, b, t);
+      cleared = t; // 새 배열에는 t 아래의 칸이 옮겨지지 않았다.
+    }
+    for (; cleared < t; cleared++) { // 도둑이 가져간 칸 비우기
+      a.lazySet(index(a, cleared), null);
+    }
+    a.lazySet(index(a, b), e);
+    bottom = b + 1; // volatile 쓰기로 원소를 도둑에게 공개한다.
+  }
+
+  /*
+   * 주인 스레드만 호출해야 한다. 비었으면 null을 반환한다.
+   */
+  public E pop() {
+    long b = bottom - 1;
+    AtomicReferenceArray<E> a = elements;
+    bottom = b;
+    long t = top;
+    if (b < t) { // 비어 있다.
+      bottom = t;
+      return null;
+    }
+    int i = index(a, b);
+    E e = a.get(i);
+    if (b > t) { // 도둑과 다툴 일이 없다.
+      a.lazySet(i, null);
+      return e;
+    }
+    // 마지막 원소는 도둑과 top을 두고 다툰다.
+    if (TOP.compareAndSet(this, t, t + 1)) {
+      a.lazySet(i, null);
+    } else {
+      e = null;
+    }
+    bottom = t + 1;
+    return e;
+  }
+
+  /*
+   * 아무 스레드나 호출할 수 있다. 비었거나 다른 스레드와의 경쟁에서 지면 null을 반환한다.
+   */
+  public E steal() {
+    long t = top;
+    long b = bottom;
+    if (t >= b) {
+      return null;
+    }
+    AtomicReferenceArray<E> a = elements;
+    int i = index(a, t);
+    E e = a.get(i);
+    if (e == null || !TOP.compareAndSet(this, t, t + 1)) {
+      return null;
+    }
+    return e;
+  }
+
+  public boolean isEmpty() {
+    return bottom - top <= 0;
+  }
+
+  public long size() {
+    return Math.max(0, bottom - top);
+  }
+
+  private static int index(AtomicReferenceArray<?> a, long i) {
+    return (int) i & (a.length() - 1);
+  }
+
+  /*
+   * [t, b) 구간을 두 배 크기의 배열로 옮긴다. 옛 배열을 읽던 도둑도 같은 원소를 보게 되므로
+   * 어느 배열에서 꺼냈든 top의 CAS에 이긴 쪽만 원소를 가져간다.
+   */
+  private AtomicReferenceArray<E> grow(AtomicReferenceArray<E> a, long b, long t) {
+    AtomicReferenceArray<E> bigger = new AtomicReferenceArray<>(a.length() * 2);
+    for (long i = t; i < b; i++) {
+      bigger.lazySet(index(bigger, i), a.get(index(a, i)));
+    }
+    elements = bigger;
+    return bigger;
+  }
+}
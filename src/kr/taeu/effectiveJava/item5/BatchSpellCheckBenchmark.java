@@ -0,0 +1,57 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * BatchSpellChecker의 병렬도(1 ~ 코어 수)에 따른 초당 검사 단어 수
+ */
+public class BatchSpellCheckBenchmark {
+  public static void main(String[] args) throws IOException {
+    Random random = new Random(42);
+    List<String> words = LexiconBenchmark.randomWords(200_000, random);
+    Lexicon dictionary = DawgLexicon.of(words);
+    char[] text = document(words, 5_000_000, random);
+
+    int cores = Runtime.getRuntime().availableProcessors();
+    for (int parallelism = 1; parallelism <= cores; parallelism *= 2) {
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
+      BatchSpellChecker checker = new BatchSpellChecker(dictionary, pool, 1 << 18, 2 * parallelism);
+      LongAdder misspelled = new LongAdder();
+      long checked = 0;
+      long elapsed = 0;
+      for (int round = 0; round < 3; round++) { // 워밍업 2회 + 측정 1회
+        misspelled.reset();
+        long start = System.nanoTime();
+        checked = checker.check(new CharArrayReader(text), m -> misspelled.increment());
+        elapsed = System.nanoTime() - start;
+      }
+      System.out.printf("parallelism %2d: %,.0f words/s (words=%d, misspelled=%d)%n",
+          parallelism, checked * 1e9 / elapsed, checked, misspelled.sum());
+      pool.shutdown();
+    }
+  }
+
+  /*
+   * 10%는 한 글자를 바꾼 오타가 섞인 문서
+   */
+  private static char[] document(List<String> words, int wordCount, Random random) {
+    StringBuilder sb = new StringBuilder(wordCount * 10);
+    for (int i = 0; i < wordCount; i++) {
+      String w = words.get(random.nextInt(words.size()));
+      if (random.nextInt(10) == 0) {
+        char[] cs = w.toCharArray();
+        cs[random.nextInt(cs.length)] = (char) ('a' + random.nextInt(26));
+        w = new String(cs);
+      }
+      sb.append(w).append(i % 12 == 11 ? ".\n" : " ");
+    }
+    char[] text = new char[sb.length()];
+    sb.getChars(0, sb.length(), text, 0);
+    return text;
+  }
+}
@@ -0,0 +1,201 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/*
+ * 큰 문서를 청크로 나눠 여러 코어에서 동시에 맞춤법을 검사한다.
+ * SpellChecker3과 마찬가지로 사전은 생성자로 주입받는다(의존 객체 주입).
+ *
+ * - 입력은 chunkSize 글자씩 읽되 단어 중간에서 자르지 않는다.
+ *   단, MAX_WORD_LENGTH보다 긴 연속 문자는 chunkSize와 상관없이 MAX_WORD_LENGTH 글자씩 끊어 여러 단어로 검사한다.
+ * - 청크 안에서 같은 단어는 한 번만 사전에 묻는다.
+ * - 동시에 처리 중인 청크는 maxInFlight개를 넘지 않으므로 입력 크기와 무관하게 메모리 사용량이 일정하다.
+ * - 오타는 입력 순서대로 호출한 스레드에서 sink에 전달되므로 sink는 스레드 안전할 필요가 없다.
+ */
+public class BatchSpellChecker {
+  private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+  private static final int MAX_WORD_LENGTH = 1 << 10;
+
+  private final Lexicon dictionary;
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+  private final int maxInFlight;
+
+  public BatchSpellChecker(Lexicon dictionary) {
+    this(dictionary, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE,
+        2 * ForkJoinPool.commonPool().getParallelism());
+  }
+
+  public BatchSpellChecker(Lexicon dictionary, ForkJoinPool pool, int chunkSize, int maxInFlight) {
+    if (chunkSize <= 0 || maxInFlight <= 0) {
+      throw new IllegalArgumentException("chunkSize: " + chunkSize + ", maxInFlight: " + maxInFlight);
+    }
+    this.dictionary = Objects.requireNonNull(dictionary);
+    this.pool = Objects.requireNonNull(pool);
+    this.chunkSize = chunkSize;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /*
+   * 사전에 없는 단어와 그 위치(입력 시작부터 센 글자 수)
+   */
+  public static final class Misspelling {
+    private final String word;
+    private final long offset;
+
+    Misspelling(String word, long offset) {
+      this.word = word;
+      this.offset = offset;
+    }
+
+    public String word() {
+      return word;
+    }
+
+    public long offset() {
+      return offset;
+    }
+
+    @Override
+    public String toString() {
+      return offset + ":" + word;
+    }
+  }
+
+  public long check(Path file, Charset charset, Consumer<? super Misspelling> sink) throws IOException {
+    try (Reader in = Files.newBufferedReader(file, charset)) {
+      return check(in, sink);
+    }
+  }
+
+  /*
+   * 입력을 끝까지 검사하고 검사한 단어 수를 반환한다.
+   */
+  public long check(Reader in, Consumer<? super Misspelling> sink) throws IOException {
+    ArrayDeque<ForkJoinTask<ChunkResult>> inFlight = new ArrayDeque<>();
+    long words = 0;
+    char[] buf = new char[chunkSize];
+    int carry = 0;       // 앞 청크에서 넘어온 잘린 단어의 길이
+    long base = 0;       // buf[0]의 입력상 위치
+    boolean eof = false;
+    while (!eof) {
+      int length = carry;
+      while (length < buf.length) { // 짧게 읽히더라도 청크를 가득 채운다.
+        int n = in.read(buf, length, buf.length - length);
+        if (n < 0) {
+          eof = true;
+          break;
+        }
+        length += n;
+      }
+      if (length == 0) {
+        break;
+      }
+      int cut = eof ? length : lastBoundary(buf, length);
+      if (cut == 0) { // 청크보다 긴 단어, 단어는 MAX_WORD_LENGTH보다 길 수 없으므로 버퍼도 그 이상 늘지 않는다.
+        buf = Arrays.copyOf(buf, Math.min(buf.length * 2, MAX_WORD_LENGTH));
+        carry = length;
+        continue;
+      }
+      char[] chunk = Arrays.copyOf(buf, cut);
+      long chunkBase = base;
+      if (inFlight.size() == maxInFlight) {
+        words += drain(inFlight.poll(), sink);
+      }
+      inFlight.add(pool.submit(() -> checkChunk(chunk, chunkBase)));
+
+      carry = length - cut;
+      System.arraycopy(buf, cut, buf, 0, carry);
+      base += cut;
+    }
+    while (!inFlight.isEmpty()) {
+      words += drain(inFlight.poll(), sink);
+    }
+    return words;
+  }
+
+  private static long drain(ForkJoinTask<ChunkResult> task, Consumer<? super Misspelling> sink) {
+    ChunkResult result;
+    try {
+      result = task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+    result.misspellings.forEach(sink);
+    return result.words;
+  }
+
+  /*
+   * 마지막 단어가 잘렸을 수 있으므로 마지막 구분자 바로 뒤에서 자른다.
+   * 긴 연속 문자는 MAX_WORD_LENGTH 글자씩 끊어 검사하므로 다 찬 조각은 이번 청크에 넣고 남은 조각만 넘긴다.
+   */
+  private static int lastBoundary(char[] buf, int length) {
+    int i = length;
+    while (i > 0 && isWordChar(buf[i - 1])) {
+      i--;
+    }
+    return i + (length - i) / MAX_WORD_LENGTH * MAX_WORD_LENGTH;
+  }
+
+  private ChunkResult checkChunk(char[] chunk, long base) {
+    Map<String, Boolean> verdicts = new HashMap<>();
+    List<Misspelling> misspellings = new ArrayList<>();
+    long words = 0;
+    int i = 0;
+    while (i < chunk.length) {
+      while (i < chunk.length && !isWordChar(chunk[i])) {
+        i++;
+      }
+      int start = i;
+      while (i < chunk.length && isWordChar(chunk[i]) && i - start < MAX_WORD_LENGTH) {
+        i++;
+      }
+      if (start == i) {
+        break;
+      }
+      String word = new String(chunk, start, i - start);
+      words++;
+      Boolean valid = verdicts.get(word);
+      if (valid == null) {
+        valid = dictionary.find(word) != null;
+        verdicts.put(word, valid);
+      }
+      if (!valid) {
+        misspellings.add(new Misspelling(word, base + start));
+      }
+    }
+    return new ChunkResult(words, misspellings);
+  }
+
+  private static boolean isWordChar(char c) {
+    return Character.isLetter(c) || c == '\'';
+  }
+
+  private static final class ChunkResult {
+    final long words;
+    final List<Misspelling> misspellings;
+
+    ChunkResult(long words, List<Misspelling> misspellings) {
+      this.words = words;
+      this.misspellings = misspellings;
+    }
+  }
+}
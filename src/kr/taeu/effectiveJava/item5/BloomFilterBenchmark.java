@@ -0,0 +1,78 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.util.List;
+import java.util.Random;
+
+/*
+ * 조회의 90%가 사전에 없는 단어일 때 BloomFilterLexicon을 앞에 둔 효과 측정
+ * 원래 사전은 조회마다 약 2us가 걸리는 느린 사전으로 흉내낸다.
+ */
+public class BloomFilterBenchmark {
+  private static final int LOOKUPS = 500_000;
+
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    List<String> words = LexiconBenchmark.randomWords(1_000_000, random);
+    Lexicon slow = new SlowLexicon(new HashSetLexicon(words), 2_000);
+
+    String[] queries = new String[1 << 16];
+    for (int i = 0; i < queries.length; i++) {
+      String w = words.get(random.nextInt(words.size()));
+      queries[i] = i % 10 == 0 ? w : w + "zq"; // 10%만 사전에 있는 단어
+    }
+
+    run("direct", slow, queries);
+    for (double fpp : new double[] { 0.1, 0.01, 0.001 }) {
+      long start = System.nanoTime();
+      BloomFilterLexicon guarded = new BloomFilterLexicon(slow, words, fpp);
+      long built = (System.nanoTime() - start) / 1_000_000;
+      int falsePositives = 0;
+      for (int i = 0; i < queries.length; i++) {
+        if (i % 10 != 0 && guarded.mightContain(queries[i])) {
+          falsePositives++;
+        }
+      }
+      System.out.printf("bloom p=%.3f: build %d ms, measured fpp %.4f%n",
+          fpp, built, falsePositives / (queries.length * 0.9));
+      run("bloom p=" + fpp, guarded, queries);
+    }
+  }
+
+  private static void run(String name, Lexicon lexicon, String[] queries) {
+    int hits = 0;
+    long elapsed = 0;
+    for (int round = 0; round < 2; round++) { // 워밍업 1회 + 측정 1회
+      hits = 0;
+      long start = System.nanoTime();
+      for (int i = 0; i < LOOKUPS; i++) {
+        if (lexicon.find(queries[i % queries.length]) != null) {
+          hits++;
+        }
+      }
+      elapsed = System.nanoTime() - start;
+    }
+    System.out.printf("%-15s %.1f ns/op (hits=%d)%n", name, (double) elapsed / LOOKUPS, hits);
+  }
+
+  /*
+   * 원격 사전처럼 조회마다 일정 시간을 소모하는 사전
+   */
+  private static final class SlowLexicon implements Lexicon {
+    private final Lexicon delegate;
+    private final long costNanos;
+
+    SlowLexicon(Lexicon delegate, long costNanos) {
+      this.delegate = delegate;
+      this.costNanos = costNanos;
+    }
+
+    @Override
+    public String find(String word) {
+      long end = System.nanoTime() + costNanos;
+      while (System.nanoTime() < end) {
+        // 바쁜 대기
+      }
+      return delegate.find(word);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/*
+ * 블룸 필터로 '확실히 없는 단어'를 먼저 걸러내는 Lexicon 데코레이터
+ * 필터가 아니라고 답한 단어는 원래 사전에 묻지 않고 바로 null을 반환한다.
+ * 필터가 있을 수도 있다고 답한 경우(진짜 있거나 거짓 양성)에만 원래 사전을 조회하므로 결과는 항상 정확하다.
+ *
+ * 비트 배열을 512비트(캐시 라인 하나) 블록으로 나눈 blocked 블룸 필터라서
+ * 조회 한 번이 캐시 라인 하나만 건드린다. 그 대가로 거짓 양성률은 일반 블룸 필터보다 조금 높다.
+ */
+public final class BloomFilterLexicon implements Lexicon {
+  private final Lexicon delegate;
+  private final double falsePositiveRate;
+  private volatile Filter filter; // rebuild 때 통째로 교체된다.
+
+  /*
+   * 주어진 단어 목록으로 필터를 만든다.
+   * delegate.words()는 원격 사전(NaverDictionary 등)에서 비어 있을 수 있으므로 단어 목록은 호출하는 쪽이 넘긴다.
+   */
+  public BloomFilterLexicon(Lexicon delegate, Collection<String> words, double falsePositiveRate) {
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+      throw new IllegalArgumentException("falsePositiveRate: " + falsePositiveRate);
+    }
+    this.delegate = Objects.requireNonNull(delegate);
+    this.falsePositiveRate = falsePositiveRate;
+    this.filter = Filter.of(words, falsePositiveRate);
+  }
+
+  @Override
+  public String find(String word) {
+    return filter.mightContain(word) ? delegate.find(word) : null;
+  }
+
+  @Override
+  public Iterable<String> words() {
+    return delegate.words();
+  }
+
+  public boolean mightContain(CharSequence word) {
+    return filter.mightContain(word);
+  }
+
+  /*
+   * 원래 사전이 바뀌었을 때 새 단어 목록으로 필터를 다시 만든다.
+   * 새 필터를 다 만든 다음에 교체하므로 그동안의 조회는 이전 필터를 그대로 쓴다.
+   * 새 단어 목록에 빠진 단어가 있으면 그 단어는 더 이상 찾을 수 없으니 원래 사전과 함께 갱신하자.
+   */
+  public void rebuild(Collection<String> words) {
+    filter = Filter.of(words, falsePositiveRate);
+  }
+
+  private static final class Filter {
+    private static final int BLOCK_BITS = 512;
+    private static final int LONGS_PER_BLOCK = BLOCK_BITS / 64;
+
+    private final long[] bits;
+    private final int blocks;
+    private final int hashCount;
+
+    private Filter(int blocks, int hashCount) {
+      this.bits = new long[blocks * LONGS_PER_BLOCK];
+      this.blocks = blocks;
+      this.hashCount = hashCount;
+    }
+
+    /*
+     * 비트 수 m = -n ln p / (ln 2)^2, 해시 함수 수 k = (m / n) ln 2
+     */
+    static Filter of(Collection<String> words, double falsePositiveRate) {
+      long n = Math.max(words.size(), 1);
+      double m = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+      int blocks = (int) Math.min(Integer.MAX_VALUE / LONGS_PER_BLOCK, Math.max(1, (long) Math.ceil(m / BLOCK_BITS)));
+      int hashCount = (int) Math.max(1, Math.min(16, Math.round(m / n * Math.log(2))));
+      Filter filter = new Filter(blocks, hashCount);
+      for (String word : words) {
+        filter.put(word);
+      }
+      return filter;
+    }
+
+    void put(CharSequence word) {
+      long h = hash(word);
+      int base = block(h) * LONGS_PER_BLOCK;
+      int combined = (int) h;
+      int step = (int) (h >>> 41) | 1;
+      for (int i = 0; i < hashCount; i++) {
+        int bit = (combined + i * step) & (BLOCK_BITS - 1);
+        bits[base + (bit >>> 6)] |= 1L << bit;
+      }
+    }
+
+    boolean mightContain(CharSequence word) {
+      long h = hash(word);
+      int base = block(h) * LONGS_PER_BLOCK;
+      int combined = (int) h;
+      int step = (int) (h >>> 41) | 1;
+      for (int i = 0; i < hashCount; i++) {
+        int bit = (combined + i * step) & (BLOCK_BITS - 1);
+        if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /*
+     * 상위 32비트를 [0, blocks) 범위로 옮긴다(나머지 연산 없는 범위 축소).
+     */
+    private int block(long h) {
+      return (int) (((h >>> 32) * blocks) >>> 32);
+    }
+
+    /*
+     * 글자 단위 FNV-1a 64비트 해시에 MurmurHash3의 마무리 섞기를 더한다.
+     */
+    private static long hash(CharSequence s) {
+      long h = 0xCBF29CE484222325L;
+      for (int i = 0; i < s.length(); i++) {
+        h = (h ^ s.charAt(i)) * 0x100000001B3L;
+      }
+      h ^= h >>> 33;
+      h *= 0xFF51AFD7ED558CCDL;
+      h ^= h >>> 33;
+      h *= 0xC4CEB9FE1A85EC53L;
+      return h ^ (h >>> 33);
+    }
+  }
+}
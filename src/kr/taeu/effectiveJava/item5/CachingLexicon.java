@@ -0,0 +1,414 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 느린 Lexicon 앞에 두는 크기 제한 캐시 데코레이터
+ * 원래 사전을 감싸기만 하므로(item18의 컴포지션) 어떤 Lexicon에도 씌울 수 있다.
+ *
+ * 축출 정책은 W-TinyLFU다.
+ * - 새 단어는 작은 윈도 LRU(전체의 1%)에 먼저 들어간다.
+ * - 윈도에서 밀려난 단어는 본 영역(SLRU)의 보호 대기(probation) 구간에 들어가며,
+ *   이때 축출 대상과 접근 빈도(Count-Min 스케치 추정치)를 비교해 더 자주 쓰인 쪽만 남긴다.
+ * - 보호 대기 구간에서 다시 조회된 단어는 보호(protected) 구간으로 승격된다.
+ *
+ * 키의 해시로 나눈 세그먼트마다 락을 따로 두어(lock striping) 코어가 늘어도 경합이 한곳에 몰리지 않는다.
+ * 원래 사전 조회는 락 밖에서 하므로 느린 조회가 다른 단어의 조회를 막지 않는다.
+ * 없는 단어(find가 null)도 캐싱한다.
+ */
+public final class CachingLexicon implements Lexicon {
+  private final Lexicon delegate;
+  private final Segment[] segments;
+  private final int segmentShift;
+  private final int segmentMask;
+  private final long expireAfterWriteNanos; // 0이면 만료 없음
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+  private final LongAdder loadCount = new LongAdder();
+  private final LongAdder totalLoadNanos = new LongAdder();
+
+  public static class Builder {
+    // 필수 매개변수
+    private final Lexicon delegate;
+
+    // 선택 매개변수 - 기본값으로 초기화
+    private long maximumSize = 10_000;
+    private Duration expireAfterWrite = Duration.ZERO;
+    private int concurrencyLevel = Runtime.getRuntime().availableProcessors() * 2;
+
+    public Builder(Lexicon delegate) {
+      this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    public Builder maximumSize(long val) {
+      if (val <= 0) {
+        throw new IllegalArgumentException("maximumSize: " + val);
+      }
+      maximumSize = val;
+      return this;
+    }
+
+    /*
+     * 저장된 뒤 val이 지난 단어는 다시 원래 사전에서 조회한다. Duration.ZERO면 만료하지 않는다.
+     */
+    public Builder expireAfterWrite(Duration val) {
+      if (val.isNegative()) {
+        throw new IllegalArgumentException("expireAfterWrite: " + val);
+      }
+      expireAfterWrite = val;
+      return this;
+    }
+
+    public Builder concurrencyLevel(int val) {
+      if (val <= 0) {
+        throw new IllegalArgumentException("concurrencyLevel: " + val);
+      }
+      concurrencyLevel = val;
+      return this;
+    }
+
+    public CachingLexicon build() {
+      return new CachingLexicon(this);
+    }
+  }
+
+  private CachingLexicon(Builder builder) {
+    this.delegate = builder.delegate;
+    this.expireAfterWriteNanos = builder.expireAfterWrite.toNanos();
+
+    // 세그먼트 하나가 너무 작아지면 빈도 비교가 무의미해지므로 세그먼트당 최소 16개는 담게 한다.
+    int wanted = (int) Math.min(builder.concurrencyLevel, Math.max(1, builder.maximumSize / 16));
+    int count = Integer.highestOneBit(wanted);
+    this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+    this.segmentMask = count - 1;
+    this.segments = new Segment[count];
+    long perSegment = (builder.maximumSize + count - 1) / count;
+    for (int i = 0; i < count; i++) {
+      segments[i] = new Segment((int) Math.min(Integer.MAX_VALUE, perSegment));
+    }
+  }
+
+  @Override
+  public String find(String word) {
+    Objects.requireNonNull(word);
+    int hash = spread(word.hashCode());
+    Segment segment = segments[(hash >>> segmentShift) & segmentMask]; // 상위 비트로 세그먼트를 고른다.
+    long now = expireAfterWriteNanos == 0 ? 0 : System.nanoTime();
+
+    Node hit = segment.get(word, hash, now);
+    if (hit != null) {
+      hitCount.increment();
+      return hit.value;
+    }
+    missCount.increment();
+
+    long start = System.nanoTime();
+    String value = delegate.find(word);
+    long end = System.nanoTime();
+    loadCount.increment();
+    totalLoadNanos.add(end - start);
+
+    segment.put(word, value, hash, end);
+    return value;
+  }
+
+  @Override
+  public Iterable<String> words() {
+    return delegate.words();
+  }
+
+  public Stats stats() {
+    return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(),
+        loadCount.sum(), totalLoadNanos.sum());
+  }
+
+  public long estimatedSize() {
+    long size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  private static int spread(int h) {
+    h ^= h >>> 16;
+    h *= 0x45D9F3B;
+    return h ^ (h >>> 16);
+  }
+
+  /*
+   * 수집용 통계의 불변 스냅샷
+   */
+  public static final class Stats {
+    private final long hitCount, missCount, evictionCount, loadCount, totalLoadNanos;
+
+    private Stats(long hitCount, long missCount, long evictionCount, long loadCount, long totalLoadNanos) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.evictionCount = evictionCount;
+      this.loadCount = loadCount;
+      this.totalLoadNanos = totalLoadNanos;
+    }
+
+    public long hitCount() { return hitCount; }
+    public long missCount() { return missCount; }
+    public long evictionCount() { return evictionCount; }
+    public long loadCount() { return loadCount; }
+    public long totalLoadNanos() { return totalLoadNanos; }
+
+    public double hitRate() {
+      long requests = hitCount + missCount;
+      return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public double averageLoadPenaltyNanos() {
+      return loadCount == 0 ? 0.0 : (double) totalLoadNanos / loadCount;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("hits=%d, misses=%d, hitRate=%.3f, evictions=%d, loads=%d, avgLoad=%.0fns",
+          hitCount, missCount, hitRate(), evictionCount, loadCount, averageLoadPenaltyNanos());
+    }
+  }
+
+  private static final int WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+
+  private static final class Node {
+    final String key;
+    volatile String value; // 락 밖에서 읽는다.
+    long writeTime;
+    int queue;
+    Node prev, next;
+
+    Node(String key) {
+      this.key = key;
+    }
+  }
+
+  /*
+   * 센티널 노드를 쓰는 이중 연결 리스트, 앞쪽이 가장 오래된 원소
+   */
+  private static final class AccessOrder {
+    private final Node head = new Node(null);
+    int size = 0;
+
+    AccessOrder() {
+      head.prev = head;
+      head.next = head;
+    }
+
+    Node first() {
+      return head.next == head ? null : head.next;
+    }
+
+    void addLast(Node n) {
+      n.prev = head.prev;
+      n.next = head;
+      head.prev.next = n;
+      head.prev = n;
+      size++;
+    }
+
+    void remove(Node n) {
+      n.prev.next = n.next;
+      n.next.prev = n.prev;
+      n.prev = null;
+      n.next = null;
+      size--;
+    }
+
+    void moveToLast(Node n) {
+      remove(n);
+      addLast(n);
+    }
+  }
+
+  private final class Segment {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Node> map = new HashMap<>();
+    private final AccessOrder[] queues = { new AccessOrder(), new AccessOrder(), new AccessOrder() };
+    private final FrequencySketch sketch;
+    private final int maximum;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+
+    Segment(int maximum) {
+      this.maximum = maximum;
+      this.windowMaximum = Math.max(1, maximum / 100);
+      this.protectedMaximum = (int) ((maximum - windowMaximum) * 0.8);
+      this.sketch = new FrequencySketch(maximum);
+    }
+
+    Node get(String key, int hash, long now) {
+      lock.lock();
+      try {
+        sketch.increment(hash);
+        Node node = map.get(key);
+        if (node == null) {
+          return null;
+        }
+        if (isExpired(node, now)) {
+          unlink(node);
+          return null;
+        }
+        onHit(node);
+        return node;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void put(String key, String value, int hash, long now) {
+      lock.lock();
+      try {
+        Node node = map.get(key);
+        if (node != null) { // 다른 스레드가 먼저 채웠다.
+          node.value = value;
+          node.writeTime = now;
+          return;
+        }
+        node = new Node(key);
+        node.value = value;
+        node.writeTime = now;
+        node.queue = WINDOW;
+        map.put(key, node);
+        queues[WINDOW].addLast(node);
+
+        Node candidate = null;
+        if (queues[WINDOW].size > windowMaximum) {
+          candidate = queues[WINDOW].first();
+          queues[WINDOW].remove(candidate);
+          candidate.queue = PROBATION;
+          queues[PROBATION].addLast(candidate);
+        }
+        evict(candidate);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int size() {
+      lock.lock();
+      try {
+        return map.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /*
+     * 윈도에서 막 넘어온 후보와 보호 대기 구간의 가장 오래된 원소 중 덜 쓰인 쪽을 내보낸다.
+     */
+    private void evict(Node candidate) {
+      while (map.size() > maximum) {
+        Node victim = queues[PROBATION].first();
+        if (victim == null) {
+          victim = queues[PROTECTED].first();
+        }
+        if (victim == null) {
+          victim = queues[WINDOW].first();
+        }
+        if (candidate != null && candidate != victim && victim.queue == PROBATION
+            && sketch.frequency(spread(candidate.key.hashCode())) <= sketch.frequency(spread(victim.key.hashCode()))) {
+          victim = candidate;
+        }
+        if (victim == candidate) {
+          candidate = null;
+        }
+        unlink(victim);
+        evictionCount.increment();
+      }
+    }
+
+    private void onHit(Node node) {
+      if (node.queue == PROBATION) {
+        queues[PROBATION].remove(node);
+        node.queue = PROTECTED;
+        queues[PROTECTED].addLast(node);
+        if (queues[PROTECTED].size > protectedMaximum) {
+          Node demoted = queues[PROTECTED].first();
+          queues[PROTECTED].remove(demoted);
+          demoted.queue = PROBATION;
+          queues[PROBATION].addLast(demoted);
+        }
+      } else {
+        queues[node.queue].moveToLast(node);
+      }
+    }
+
+    private boolean isExpired(Node node, long now) {
+      return expireAfterWriteNanos != 0 && now - node.writeTime >= expireAfterWriteNanos;
+    }
+
+    private void unlink(Node node) {
+      queues[node.queue].remove(node);
+      map.remove(node.key);
+    }
+  }
+
+  /*
+   * 4비트 카운터 네 개로 빈도를 추정하는 Count-Min 스케치
+   * long 하나에 카운터 16개를 담고, 증가 횟수가 표본 크기에 이르면 모든 카운터를 절반으로 줄여
+   * 예전에만 인기 있던 단어가 영원히 남지 않게 한다.
+   */
+  private static final class FrequencySketch {
+    private static final long[] SEEDS = {
+        0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int sampleSize;
+    private int additions = 0;
+
+    FrequencySketch(int maximum) {
+      int length = Integer.highestOneBit(Math.max(16, Math.min(maximum, 1 << 26)) - 1) << 1;
+      this.table = new long[length];
+      this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(maximum, 16));
+    }
+
+    int frequency(int hash) {
+      int frequency = 15;
+      for (int i = 0; i < 4; i++) {
+        frequency = Math.min(frequency, (int) ((table[indexOf(hash, i)] >>> shift(hash, i)) & 0xF));
+      }
+      return frequency;
+    }
+
+    void increment(int hash) {
+      boolean added = false;
+      for (int i = 0; i < 4; i++) {
+        int index = indexOf(hash, i);
+        int shift = shift(hash, i);
+        if (((table[index] >>> shift) & 0xF) != 0xF) {
+          table[index] += 1L << shift;
+          added = true;
+        }
+      }
+      if (added && ++additions == sampleSize) {
+        for (int i = 0; i < table.length; i++) {
+          table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+      }
+    }
+
+    private int indexOf(int hash, int i) {
+      long h = (hash + SEEDS[i]) * SEEDS[i];
+      h += h >>> 32;
+      return (int) h & (table.length - 1);
+    }
+
+    private static int shift(int hash, int i) {
+      int counter = (((hash >>> (i << 3)) & 3) << 2) | i; // long 안의 카운터 번호 0 ~ 15
+      return counter << 2;
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 원격 사전 조회를 비동기로 바꾸고, 같은 단어 요청은 하나로 합치며(coalescing),
+ * 대기 중인 단어들은 묶어서(batching) 한 번의 원격 호출로 보낸다.
+ *
+ * - findAsync는 스레드를 막지 않고 CompletableFuture를 바로 반환한다.
+ * - 아직 응답이 오지 않은 단어를 다시 요청하면 같은 future를 돌려받는다.
+ * - 디스패처 스레드가 maxBatchSize개가 모이거나 maxDelay가 지나면 묶음을 executor에 넘긴다.
+ * 원격 호출은 주입받은 executor에서 실행된다.
+ * 디스패처 스레드를 멈추려면 close를 호출해야 하므로 try-with-resources와 함께 쓰자(item9).
+ */
+public final class CoalescingLexicon implements Lexicon, AutoCloseable {
+  /*
+   * 여러 단어를 한 번에 조회하는 원격 사전, 사전에 없는 단어는 결과에서 빠지거나 null로 매핑된다.
+   */
+  @FunctionalInterface
+  public interface BatchLoader {
+    Map<String, String> findAll(Set<String> words);
+
+    /*
+     * 묶음 조회를 지원하지 않는 사전은 한 단어씩 조회한다.
+     */
+    static BatchLoader of(Lexicon lexicon) {
+      Objects.requireNonNull(lexicon);
+      return words -> {
+        Map<String, String> result = new HashMap<>();
+        for (String word : words) {
+          result.put(word, lexicon.find(word));
+        }
+        return result;
+      };
+    }
+  }
+
+  private final BatchLoader loader;
+  private final Executor executor;
+  private final int maxBatchSize;
+  private final long maxDelayNanos;
+  private final ConcurrentHashMap<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+  private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+  private final Thread dispatcher;
+  private volatile boolean closed = false;
+
+  public CoalescingLexicon(BatchLoader loader, Executor executor, int maxBatchSize, long maxDelay, TimeUnit unit) {
+    if (maxBatchSize <= 0 || maxDelay < 0) {
+      throw new IllegalArgumentException("maxBatchSize: " + maxBatchSize + ", maxDelay: " + maxDelay);
+    }
+    this.loader = Objects.requireNonNull(loader);
+    this.executor = Objects.requireNonNull(executor);
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelayNanos = unit.toNanos(maxDelay);
+    this.dispatcher = new Thread(this::dispatch, "coalescing-lexicon-dispatcher");
+    dispatcher.setDaemon(true);
+    dispatcher.start();
+  }
+
+  public CompletableFuture<String> findAsync(String word) {
+    Objects.requireNonNull(word);
+    if (closed) {
+      throw new IllegalStateException("closed");
+    }
+    CompletableFuture<String> created = new CompletableFuture<>();
+    CompletableFuture<String> existing = pending.putIfAbsent(word, created);
+    if (existing != null) {
+      return existing; // 이미 요청 중인 단어
+    }
+    queue.add(word);
+    if (closed && queue.remove(word)) { // close와 경합해 디스패처가 가져가지 못한 단어
+      pending.remove(word, created);
+      created.completeExceptionally(new IllegalStateException("closed"));
+    }
+    return created;
+  }
+
+  /*
+   * 동기 조회가 필요한 기존 코드(SpellChecker3 등)를 위한 메서드, 응답이 올 때까지 기다린다.
+   */
+  @Override
+  public String find(String word) {
+    try {
+      return findAsync(word).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /*
+   * 디스패처를 멈추고 아직 보내지 않은 요청은 실패로 완료한다.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    dispatcher.interrupt();
+    try {
+      dispatcher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    IllegalStateException failure = new IllegalStateException("closed");
+    List<String> rest = new ArrayList<>();
+    queue.drainTo(rest);
+    for (String word : rest) {
+      CompletableFuture<String> future = pending.remove(word);
+      if (future != null) {
+        future.completeExceptionally(failure);
+      }
+    }
+  }
+
+  private void dispatch() {
+    List<String> batch = new ArrayList<>(maxBatchSize);
+    while (!closed) {
+      try {
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize) {
+          String next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+      } catch (InterruptedException e) {
+        if (batch.isEmpty()) {
+          return;
+        }
+        // 이미 꺼낸 단어는 마저 보낸다.
+      }
+      Set<String> words = new LinkedHashSet<>(batch);
+      batch.clear();
+      try {
+        executor.execute(() -> load(words));
+      } catch (RejectedExecutionException e) { // executor가 포화되거나 종료돼도 디스패처는 계속 돈다.
+        fail(words, e);
+      }
+    }
+  }
+
+  private void load(Set<String> words) {
+    Map<String, String> result;
+    try {
+      result = loader.findAll(words);
+    } catch (RuntimeException | Error e) {
+      fail(words, e);
+      return;
+    }
+    for (String word : words) {
+      CompletableFuture<String> future = pending.remove(word);
+      if (future != null) {
+        future.complete(result.get(word));
+      }
+    }
+  }
+
+  private void fail(Set<String> words, Throwable cause) {
+    for (String word : words) {
+      CompletableFuture<String> future = pending.remove(word);
+      if (future != null) {
+        future.completeExceptionally(cause);
+      }
+    }
+  }
+}
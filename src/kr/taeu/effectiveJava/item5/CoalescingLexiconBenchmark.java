@@ -0,0 +1,112 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * LocalDictionaryServer(왕복 2ms, 단어당 5us)를 상대로 처리량, 지연 시간, 원격 요청 수를 비교한다.
+ * - single-word : 클라이언트 스레드마다 한 단어씩 동기 조회
+ * - coalescing  : 같은 수의 클라이언트가 CoalescingLexicon.findAsync로 조회, 대기하는 스레드가 없다.
+ * 동시 클라이언트 수를 늘려도 coalescing 쪽은 스레드를 더 만들지 않는다.
+ */
+public class CoalescingLexiconBenchmark {
+  private static final int LOOKUPS_PER_CLIENT = 500;
+  private static final long ROUND_TRIP_NANOS = 2_000_000;
+  private static final long PER_WORD_NANOS = 5_000;
+
+  public static void main(String[] args) throws Exception {
+    Random random = new Random(42);
+    List<String> words = LexiconBenchmark.randomWords(100_000, random);
+    Lexicon backing = new HashSetLexicon(words);
+    String[] hot = new String[5_000];
+    for (int i = 0; i < hot.length; i++) {
+      hot[i] = words.get(random.nextInt(words.size()));
+    }
+
+    for (int clients : new int[] { 64, 512 }) {
+      LocalDictionaryServer server = new LocalDictionaryServer(backing, ROUND_TRIP_NANOS, PER_WORD_NANOS, TimeUnit.NANOSECONDS);
+      runSync("single-word", clients, server.singleWordClient(), server, hot);
+
+      LocalDictionaryServer batchServer = new LocalDictionaryServer(backing, ROUND_TRIP_NANOS, PER_WORD_NANOS, TimeUnit.NANOSECONDS);
+      ExecutorService loaders = Executors.newFixedThreadPool(16);
+      try (CoalescingLexicon coalescing = new CoalescingLexicon(batchServer, loaders, 256, 500, TimeUnit.MICROSECONDS)) {
+        runAsync("coalescing", clients, coalescing, batchServer, hot);
+      } finally {
+        loaders.shutdown();
+      }
+    }
+  }
+
+  private static void runSync(String name, int clients, Lexicon lexicon, LocalDictionaryServer server, String[] hot)
+      throws InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(clients);
+    List<CompletableFuture<long[]>> results = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int c = 0; c < clients; c++) {
+      Random random = new Random(c);
+      results.add(CompletableFuture.supplyAsync(() -> {
+        long[] latencies = new long[LOOKUPS_PER_CLIENT];
+        for (int i = 0; i < LOOKUPS_PER_CLIENT; i++) {
+          long t = System.nanoTime();
+          lexicon.find(pick(hot, random));
+          latencies[i] = System.nanoTime() - t;
+        }
+        return latencies;
+      }, pool));
+    }
+    report(name, clients, results, start, server);
+    pool.shutdown();
+    pool.awaitTermination(1, TimeUnit.MINUTES);
+  }
+
+  private static void runAsync(String name, int clients, CoalescingLexicon lexicon, LocalDictionaryServer server,
+      String[] hot) {
+    List<CompletableFuture<long[]>> results = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int c = 0; c < clients; c++) {
+      long[] latencies = new long[LOOKUPS_PER_CLIENT];
+      CompletableFuture<long[]> done = new CompletableFuture<>();
+      next(lexicon, hot, new Random(c), latencies, 0, done);
+      results.add(done);
+    }
+    report(name, clients, results, start, server);
+  }
+
+  /*
+   * 앞 조회가 끝나면 다음 조회를 시작하는 비동기 클라이언트, 기다리는 동안 스레드를 잡고 있지 않는다.
+   */
+  private static void next(CoalescingLexicon lexicon, String[] hot, Random random, long[] latencies, int i,
+      CompletableFuture<long[]> done) {
+    if (i == latencies.length) {
+      done.complete(latencies);
+      return;
+    }
+    long t = System.nanoTime();
+    lexicon.findAsync(pick(hot, random)).whenComplete((v, e) -> {
+      latencies[i] = System.nanoTime() - t;
+      next(lexicon, hot, random, latencies, i + 1, done);
+    });
+  }
+
+  /*
+   * 앞쪽 단어일수록 자주 조회되는 치우친 분포
+   */
+  private static String pick(String[] hot, Random random) {
+    return hot[(int) (hot.length * Math.pow(random.nextDouble(), 3))];
+  }
+
+  private static void report(String name, int clients, List<CompletableFuture<long[]>> results, long start,
+      LocalDictionaryServer server) {
+    long[] all = results.stream().flatMapToLong(f -> Arrays.stream(f.join())).sorted().toArray();
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%-12s clients %4d: %,8.0f lookups/s, p50 %.2f ms, p99 %.2f ms, backend requests %d (words %d)%n",
+        name, clients, all.length * 1e9 / elapsed, all[all.length / 2] / 1e6, all[all.length * 99 / 100] / 1e6,
+        server.requestCount(), server.wordCount());
+  }
+}
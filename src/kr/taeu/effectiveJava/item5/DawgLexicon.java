@@ -0,0 +1,346 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * 최소화된 DAWG(Directed Acyclic Word Graph)로 단어를 보관하는 불변 사전
+ * 공통 접두사뿐 아니라 공통 접미사까지 공유하므로 HashSet<String>보다 훨씬 적은 힙을 사용한다.
+ * 만들어진 뒤에는 노드를 객체가 아닌 평평한 배열(labels, targets)로만 들고 있어서
+ * find, contains, hasPrefix 모두 객체를 생성하지 않는다.
+ *
+ * 노드마다 그 아래에서 끝나는 단어 수를 세어 두어서, 사전 순 번호(0 ~ size() - 1)로 단어를 다시 만들 수 있다.
+ * 단어를 문자열로 들고 있지 않아도 번호로 가리킬 수 있다(SuggestionIndex).
+ */
+public final class DawgLexicon implements Lexicon {
+  private final int[] firstEdge;   // 노드 i의 간선은 [firstEdge[i], firstEdge[i + 1]) 구간
+  private final char[] labels;     // 노드 내에서 정렬된 간선 문자
+  private final int[] targets;     // 간선이 가리키는 노드 번호
+  private final long[] terminal;   // 단어가 끝나는 노드의 비트셋
+  private final int[] wordCounts;  // 노드 i 아래(자신 포함)에서 끝나는 단어 수
+  private final int wordCount;
+
+  private DawgLexicon(int[] firstEdge, char[] labels, int[] targets, long[] terminal, int wordCount) {
+    this.firstEdge = firstEdge;
+    this.labels = labels;
+    this.targets = targets;
+    this.terminal = terminal;
+    this.wordCount = wordCount;
+    this.wordCounts = new int[firstEdge.length - 1];
+    Arrays.fill(wordCounts, -1);
+    countWords(0);
+  }
+
+  /*
+   * 한 줄에 한 단어씩 적힌 UTF-8 파일로 사전을 만든다. 빈 줄은 무시한다.
+   */
+  public static DawgLexicon fromFile(Path wordFile) throws IOException {
+    List<String> words = new ArrayList<>();
+    try (BufferedReader br = Files.newBufferedReader(wordFile, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = br.readLine()) != null) {
+        if (!line.isEmpty()) {
+          words.add(line);
+        }
+      }
+    }
+    return of(words);
+  }
+
+  public static DawgLexicon of(Collection<String> words) {
+    String[] sorted = words.toArray(new String[0]);
+    Arrays.sort(sorted);
+    Builder builder = new Builder();
+    for (String word : sorted) {
+      builder.add(Objects.requireNonNull(word));
+    }
+    return builder.build();
+  }
+
+  /*
+   * 사전에 있는 단어라면 그 단어를, 없다면 null을 반환한다.
+   */
+  @Override
+  public String find(String word) {
+    return contains(word) ? word : null;
+  }
+
+  public boolean contains(CharSequence word) {
+    int node = walk(word);
+    return node >= 0 && isTerminal(node);
+  }
+
+  public boolean hasPrefix(CharSequence prefix) {
+    return walk(prefix) >= 0;
+  }
+
+  public int size() {
+    return wordCount;
+  }
+
+  /*
+   * 배열들이 차지하는 힙 크기(바이트), 배열 헤더는 16바이트로 어림한다.
+   */
+  public long estimatedBytes() {
+    return 5 * 16L + 4L * firstEdge.length + 2L * labels.length + 4L * targets.length
+        + 8L * terminal.length + 4L * wordCounts.length;
+  }
+
+  /*
+   * 깊이 우선으로 그래프를 순회해 사전 순서대로 모든 단어를 만든다.
+   */
+  @Override
+  public List<String> words() {
+    List<String> result = new ArrayList<>(wordCount);
+    collect(0, new StringBuilder(), result);
+    return result;
+  }
+
+  /*
+   * 사전 순으로 id번째 단어, words().get(id)와 같다.
+   */
+  public String wordAt(int id) {
+    if (id < 0 || id >= wordCount) {
+      throw new IndexOutOfBoundsException("id: " + id);
+    }
+    StringBuilder sb = new StringBuilder();
+    int node = 0;
+    while (true) {
+      if (isTerminal(node)) {
+        if (id == 0) {
+          return sb.toString();
+        }
+        id--;
+      }
+      int e = firstEdge[node];
+      while (id >= wordCounts[targets[e]]) { // 앞선 간선 아래의 단어를 건너뛴다.
+        id -= wordCounts[targets[e]];
+        e++;
+      }
+      sb.append(labels[e]);
+      node = targets[e];
+    }
+  }
+
+  private int countWords(int node) {
+    if (wordCounts[node] < 0) {
+      int count = isTerminal(node) ? 1 : 0;
+      for (int e = firstEdge[node]; e < firstEdge[node + 1]; e++) {
+        count += countWords(targets[e]);
+      }
+      wordCounts[node] = count;
+    }
+    return wordCounts[node];
+  }
+
+  private void collect(int node, StringBuilder path, List<String> result) {
+    if (isTerminal(node)) {
+      result.add(path.toString());
+    }
+    for (int e = firstEdge[node]; e < firstEdge[node + 1]; e++) {
+      path.append(labels[e]);
+      collect(targets[e], path, result);
+      path.setLength(path.length() - 1);
+    }
+  }
+
+  /*
+   * 간선을 따라 내려간 뒤의 노드 번호를 반환한다. 중간에 길이 끊기면 -1
+   */
+  private int walk(CharSequence s) {
+    int node = 0;
+    for (int i = 0; i < s.length() && node >= 0; i++) {
+      node = child(node, s.charAt(i));
+    }
+    return node;
+  }
+
+  private int child(int node, char c) {
+    int lo = firstEdge[node];
+    int hi = firstEdge[node + 1] - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      char label = labels[mid];
+      if (label < c) {
+        lo = mid + 1;
+      } else if (label > c) {
+        hi = mid - 1;
+      } else {
+        return targets[mid];
+      }
+    }
+    return -1;
+  }
+
+  private boolean isTerminal(int node) {
+    return (terminal[node >>> 6] & (1L << node)) != 0;
+  }
+
+  /*
+   * Daciuk의 증분 알고리즘. 정렬된 순서로 단어를 받아 더 이상 바뀌지 않는 노드부터
+   * 등록소(register)에 넣어 같은 모양의 노드를 하나로 합친다.
+   */
+  private static final class Builder {
+    private final Node root = new Node();
+    private final Map<Node, Node> register = new HashMap<>();
+    private String previous = "";
+    private int wordCount = 0;
+
+    void add(String word) {
+      if (word.equals(previous) && wordCount > 0) {
+        return; // 중복 단어
+      }
+      int common = 0;
+      int max = Math.min(word.length(), previous.length());
+      while (common < max && word.charAt(common) == previous.charAt(common)) {
+        common++;
+      }
+      Node node = root;
+      for (int i = 0; i < common; i++) {
+        node = node.lastChild();
+      }
+      if (node.childCount > 0) {
+        replaceOrRegister(node);
+      }
+      for (int i = common; i < word.length(); i++) {
+        Node next = new Node();
+        node.addChild(word.charAt(i), next);
+        node = next;
+      }
+      node.terminal = true;
+      previous = word;
+      wordCount++;
+    }
+
+    private void replaceOrRegister(Node node) {
+      Node child = node.lastChild();
+      if (child.childCount > 0) {
+        replaceOrRegister(child);
+      }
+      Node canonical = register.get(child);
+      if (canonical != null) {
+        node.children[node.childCount - 1] = canonical;
+      } else {
+        register.put(child, child);
+      }
+    }
+
+    DawgLexicon build() {
+      if (root.childCount > 0) {
+        replaceOrRegister(root);
+      }
+      register.clear();
+
+      // 너비 우선으로 노드 번호를 매긴다. 루트는 항상 0번
+      Map<Node, Integer> ids = new IdentityHashMap<>();
+      List<Node> order = new ArrayList<>();
+      ArrayDeque<Node> queue = new ArrayDeque<>();
+      ids.put(root, 0);
+      order.add(root);
+      queue.add(root);
+      int edgeCount = 0;
+      while (!queue.isEmpty()) {
+        Node n = queue.poll();
+        edgeCount += n.childCount;
+        for (int i = 0; i < n.childCount; i++) {
+          Node c = n.children[i];
+          if (!ids.containsKey(c)) {
+            ids.put(c, order.size());
+            order.add(c);
+            queue.add(c);
+          }
+        }
+      }
+
+      int[] firstEdge = new int[order.size() + 1];
+      char[] labels = new char[edgeCount];
+      int[] targets = new int[edgeCount];
+      long[] terminal = new long[(order.size() + 63) >>> 6];
+      int e = 0;
+      for (int id = 0; id < order.size(); id++) {
+        Node n = order.get(id);
+        firstEdge[id] = e;
+        if (n.terminal) {
+          terminal[id >>> 6] |= 1L << id;
+        }
+        for (int i = 0; i < n.childCount; i++) {
+          labels[e] = n.labels[i];
+          targets[e] = ids.get(n.children[i]);
+          e++;
+        }
+      }
+      firstEdge[order.size()] = e;
+      return new DawgLexicon(firstEdge, labels, targets, terminal, wordCount);
+    }
+  }
+
+  /*
+   * 빌드 중에만 쓰이는 가변 노드. 등록소에 들어간 뒤에는 바뀌지 않으므로
+   * equals/hashCode를 구조(종료 여부, 간선 문자, 자식 노드의 동일성)로 정의해도 안전하다.
+   */
+  private static final class Node {
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    char[] labels = NO_LABELS;
+    Node[] children = NO_CHILDREN;
+    int childCount = 0;
+    boolean terminal = false;
+
+    Node lastChild() {
+      return children[childCount - 1];
+    }
+
+    void addChild(char c, Node child) {
+      if (childCount == children.length) {
+        int newLength = Math.max(2, childCount * 2);
+        labels = Arrays.copyOf(labels, newLength);
+        children = Arrays.copyOf(children, newLength);
+      }
+      labels[childCount] = c;
+      children[childCount++] = child;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (o == this) {
+        return true;
+      }
+      if (!(o instanceof Node)) {
+        return false;
+      }
+      Node n = (Node) o;
+      if (n.terminal != terminal || n.childCount != childCount) {
+        return false;
+      }
+      for (int i = 0; i < childCount; i++) {
+        if (n.labels[i] != labels[i] || n.children[i] != children[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Boolean.hashCode(terminal);
+      for (int i = 0; i < childCount; i++) {
+        result = 31 * result + labels[i];
+        result = 31 * result + System.identityHashCode(children[i]);
+      }
+      return result;
+    }
+  }
+}
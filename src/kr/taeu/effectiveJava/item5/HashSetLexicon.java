@@ -0,0 +1,30 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * HashSet<String>으로 단어를 보관하는 가장 단순한 사전, 벤치마크 비교 기준용
+ */
+public final class HashSetLexicon implements Lexicon {
+  private final Set<String> words;
+
+  public HashSetLexicon(Collection<String> words) {
+    this.words = new HashSet<>(words);
+  }
+
+  /*
+   * 사전에 있는 단어라면 그 단어를, 없다면 null을 반환한다.
+   */
+  @Override
+  public String find(String word) {
+    return words.contains(word) ? word : null;
+  }
+
+  @Override
+  public Iterable<String> words() {
+    return Collections.unmodifiableSet(words);
+  }
+}
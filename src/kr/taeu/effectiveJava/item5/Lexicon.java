@@ -2,4 +2,13 @@ package kr.taeu.effectiveJava.item5;
 
 public interface Lexicon {
   String find(String word);
+
+  /*
+   * 사전에 담긴 모든 단어
+   * 원격 사전처럼 단어를 나열할 수 없는 사전은 빈 목록 대신 UnsupportedOperationException을 던진다.
+   * 빈 목록을 돌려주면 추천 색인(SpellChecker3)이 아무 말 없이 비어버리기 때문이다.
+   */
+  default Iterable<String> words() {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + "은(는) 단어 목록을 제공하지 않습니다.");
+  }
 }
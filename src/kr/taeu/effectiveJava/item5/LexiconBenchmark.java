@@ -0,0 +1,112 @@
+package kr.taeu.effectiveJava.item5;
+
+import static kr.taeu.effectiveJava.util.Memory.usedHeap;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/*
+ * HashSetLexicon과 DawgLexicon의 힙 사용량, 조회 지연 시간 비교
+ * 사용법: LexiconBenchmark [단어파일]  (생략하면 무작위 단어 200만 개를 만들어 사용)
+ */
+public class LexiconBenchmark {
+  private static final int LOOKUPS = 5_000_000;
+
+  public static void main(String[] args) throws IOException {
+    List<String> words = args.length > 0
+        ? Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)
+        : randomWords(2_000_000, new Random(42));
+    String[] queries = queries(words, new Random(7));
+
+    Lexicon hash = measure("HashSetLexicon", () -> new HashSetLexicon(copyOf(words)));
+    lookup("HashSetLexicon", hash, queries);
+
+    Lexicon dawg = measure("DawgLexicon", () -> DawgLexicon.of(copyOf(words)));
+    lookup("DawgLexicon", dawg, queries);
+  }
+
+  /*
+   * 사전을 만든 뒤 늘어난 힙을 사전의 크기로 본다.
+   * factory는 단어 문자열을 새로 복사해 넘기므로, 사전이 붙잡고 있는 문자열도 사전의 크기에 들어간다.
+   */
+  private static Lexicon measure(String name, Supplier<Lexicon> factory) {
+    long before = usedHeap();
+    Lexicon lexicon = factory.get();
+    long after = usedHeap();
+    System.out.printf("%-15s heap: %,d KB%n", name, (after - before) / 1024);
+    return lexicon;
+  }
+
+  private static void lookup(String name, Lexicon lexicon, String[] queries) {
+    int hits = 0;
+    for (int round = 0; round < 3; round++) { // 워밍업 2회 + 측정 1회
+      hits = 0;
+      long start = System.nanoTime();
+      for (int i = 0; i < LOOKUPS; i++) {
+        if (lexicon.find(queries[i % queries.length]) != null) {
+          hits++;
+        }
+      }
+      long elapsed = System.nanoTime() - start;
+      if (round == 2) {
+        System.out.printf("%-15s find: %.1f ns/op (hits=%d)%n", name, (double) elapsed / LOOKUPS, hits);
+      }
+    }
+  }
+
+  /*
+   * 원본 목록과 char 배열을 공유하지 않는 문자열 복사본(new String(String)은 배열을 공유한다)
+   */
+  private static List<String> copyOf(List<String> words) {
+    List<String> copy = new ArrayList<>(words.size());
+    for (String w : words) {
+      copy.add(new String(w.toCharArray()));
+    }
+    return copy;
+  }
+
+  /*
+   * 절반은 사전에 있는 단어, 절반은 한 글자를 바꾼 단어
+   */
+  private static String[] queries(List<String> words, Random random) {
+    String[] queries = new String[1 << 16];
+    for (int i = 0; i < queries.length; i++) {
+      String w = words.get(random.nextInt(words.size()));
+      if (i % 2 == 1 && !w.isEmpty()) {
+        char[] cs = w.toCharArray();
+        cs[random.nextInt(cs.length)] = (char) ('a' + random.nextInt(26));
+        w = new String(cs);
+      }
+      queries[i] = w;
+    }
+    return queries;
+  }
+
+  static List<String> randomWords(int count, Random random) {
+    String[] stems = new String[20_000];
+    for (int i = 0; i < stems.length; i++) {
+      stems[i] = randomLetters(random, 3 + random.nextInt(6));
+    }
+    String[] suffixes = { "", "s", "ed", "ing", "er", "est", "ly", "ness", "tion", "able" };
+    List<String> words = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String prefix = random.nextInt(4) == 0 ? randomLetters(random, 2) : "";
+      words.add(prefix + stems[random.nextInt(stems.length)] + suffixes[random.nextInt(suffixes.length)]);
+    }
+    return words;
+  }
+
+  private static String randomLetters(Random random, int length) {
+    char[] cs = new char[length];
+    for (int i = 0; i < length; i++) {
+      cs[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(cs);
+  }
+}
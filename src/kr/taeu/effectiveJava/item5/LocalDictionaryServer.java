@@ -0,0 +1,64 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 네트워크 없이 원격 사전을 흉내내는 프로세스 내 대역(stand-in) 서버
+ * 요청 한 번마다 왕복 지연(roundTrip)과 단어당 처리 지연(perWord)만큼 호출한 스레드를 재운다.
+ * 실제 원격 호출처럼 스레드를 막기 때문에 처리량과 꼬리 지연 시간을 측정하는 데 쓸 수 있다.
+ */
+public final class LocalDictionaryServer implements CoalescingLexicon.BatchLoader {
+  private final Lexicon backing;
+  private final long roundTripNanos;
+  private final long perWordNanos;
+  private final LongAdder requestCount = new LongAdder();
+  private final LongAdder wordCount = new LongAdder();
+
+  public LocalDictionaryServer(Lexicon backing, long roundTrip, long perWord, TimeUnit unit) {
+    this.backing = Objects.requireNonNull(backing);
+    this.roundTripNanos = unit.toNanos(roundTrip);
+    this.perWordNanos = unit.toNanos(perWord);
+  }
+
+  @Override
+  public Map<String, String> findAll(Set<String> words) {
+    requestCount.increment();
+    wordCount.add(words.size());
+    sleep(roundTripNanos + perWordNanos * words.size());
+    Map<String, String> result = new HashMap<>();
+    for (String word : words) {
+      result.put(word, backing.find(word));
+    }
+    return result;
+  }
+
+  /*
+   * 묶음 없이 한 단어씩 요청하는 기존 방식의 클라이언트
+   */
+  public Lexicon singleWordClient() {
+    return word -> findAll(Collections.singleton(word)).get(word);
+  }
+
+  public long requestCount() {
+    return requestCount.sum();
+  }
+
+  public long wordCount() {
+    return wordCount.sum();
+  }
+
+  private static void sleep(long nanos) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * 읽기 전용 이진 사전 파일을 메모리 맵으로 열어 쓰는 Lexicon
+ * 파일을 힙으로 읽어들이지 않으므로 시작 비용이 거의 없고,
+ * 같은 호스트의 여러 JVM이 운영체제의 페이지 캐시 하나를 함께 쓴다.
+ *
+ * 파일 형식(모든 정수는 빅엔디언)
+ *   헤더   : MAGIC(int) VERSION(int) 단어 수(int) 슬롯 수(int, 2의 거듭제곱)
+ *   해시표 : 슬롯마다 (String.hashCode(int), 단어 위치(int)) - 위치가 0이면 빈 슬롯, 선형 탐사
+ *   단어   : 단어마다 (글자 수(short), UTF-16 글자들)
+ * 조회할 때는 매핑된 바이트에서 글자를 하나씩 꺼내 비교할 뿐 String으로 복원하지 않는다.
+ * 매핑 하나로 다룰 수 있는 크기 때문에 파일은 2GB를 넘을 수 없다.
+ */
+public final class MappedLexicon implements Lexicon {
+  private static final int MAGIC = 0x4C455831; // "LEX1"
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 16;
+  private static final int SLOT_BYTES = 8;
+
+  private final ByteBuffer buffer;
+  private final int wordCount;
+  private final int slotMask;
+  private final int dataStart;
+
+  private MappedLexicon(ByteBuffer buffer) {
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IllegalArgumentException("사전 파일 형식이 아닙니다.");
+    }
+    this.buffer = buffer;
+    this.wordCount = buffer.getInt(8);
+    int slots = buffer.getInt(12);
+    this.slotMask = slots - 1;
+    this.dataStart = HEADER_BYTES + slots * SLOT_BYTES;
+  }
+
+  /*
+   * 매핑은 채널을 닫아도 유지되므로 채널은 바로 닫는다.
+   */
+  public static MappedLexicon open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new MappedLexicon(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /*
+   * 단어 목록으로 사전 파일을 만든다. 중복 단어는 한 번만 기록한다.
+   */
+  public static void write(Iterable<String> words, Path file) throws IOException {
+    Set<String> unique = new LinkedHashSet<>();
+    for (String word : words) {
+      if (word.length() > Short.MAX_VALUE) {
+        throw new IllegalArgumentException("단어가 너무 깁니다: " + word.length());
+      }
+      unique.add(word);
+    }
+    int slots = Integer.highestOneBit(Math.max(2, unique.size() * 2) - 1) << 1; // 적재율 50% 이하
+    int[] slotHashes = new int[slots];
+    int[] slotOffsets = new int[slots];
+
+    long offset = HEADER_BYTES + (long) slots * SLOT_BYTES;
+    for (String word : unique) {
+      int hash = word.hashCode();
+      int slot = spread(hash) & (slots - 1);
+      while (slotOffsets[slot] != 0) {
+        slot = (slot + 1) & (slots - 1);
+      }
+      slotHashes[slot] = hash;
+      slotOffsets[slot] = (int) offset;
+      offset += 2 + 2L * word.length();
+      if (offset > Integer.MAX_VALUE) { // 마지막 단어의 끝까지 int로 매핑할 수 있어야 한다.
+        throw new IllegalArgumentException("사전 파일은 2GB를 넘을 수 없습니다.");
+      }
+    }
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(unique.size());
+      out.writeInt(slots);
+      for (int i = 0; i < slots; i++) {
+        out.writeInt(slotHashes[i]);
+        out.writeInt(slotOffsets[i]);
+      }
+      for (String word : unique) {
+        out.writeShort(word.length());
+        out.writeChars(word);
+      }
+    }
+  }
+
+  /*
+   * 사전에 있는 단어라면 그 단어를, 없다면 null을 반환한다.
+   */
+  @Override
+  public String find(String word) {
+    return contains(word) ? word : null;
+  }
+
+  public boolean contains(CharSequence word) {
+    int hash = hash(word);
+    int slot = spread(hash) & slotMask;
+    while (true) {
+      int base = HEADER_BYTES + slot * SLOT_BYTES;
+      int offset = buffer.getInt(base + 4);
+      if (offset == 0) {
+        return false;
+      }
+      if (buffer.getInt(base) == hash && matches(offset, word)) {
+        return true;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+  }
+
+  public int size() {
+    return wordCount;
+  }
+
+  /*
+   * 파일에 기록된 순서대로 단어를 복원한다. 조회 경로가 아니므로 String을 만들어도 된다.
+   */
+  @Override
+  public List<String> words() {
+    List<String> result = new ArrayList<>(wordCount);
+    int offset = dataStart;
+    for (int i = 0; i < wordCount; i++) {
+      int length = buffer.getShort(offset);
+      char[] cs = new char[length];
+      for (int j = 0; j < length; j++) {
+        cs[j] = buffer.getChar(offset + 2 + 2 * j);
+      }
+      result.add(new String(cs));
+      offset += 2 + 2 * length;
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private boolean matches(int offset, CharSequence word) {
+    int length = buffer.getShort(offset);
+    if (length != word.length()) {
+      return false;
+    }
+    int p = offset + 2;
+    for (int i = 0; i < length; i++, p += 2) {
+      if (buffer.getChar(p) != word.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /*
+   * String.hashCode와 같은 값, String이면 캐싱된 값을 그대로 쓴다.
+   */
+  private static int hash(CharSequence s) {
+    if (s instanceof String) {
+      return s.hashCode();
+    }
+    int h = 0;
+    for (int i = 0; i < s.length(); i++) {
+      h = 31 * h + s.charAt(i);
+    }
+    return h;
+  }
+
+  private static int spread(int h) {
+    h ^= h >>> 16;
+    h *= 0x45D9F3B;
+    return h ^ (h >>> 16);
+  }
+}
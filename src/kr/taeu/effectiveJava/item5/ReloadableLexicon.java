@@ -0,0 +1,143 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/*
+ * 사전을 통째로 갈아끼울 수 있는 Lexicon
+ * 새 사전은 백그라운드에서 끝까지 만든 다음 불변 스냅샷으로 한 번에 발행(AtomicReference)한다.
+ * find는 발행된 스냅샷 하나만 읽으므로 교체 중에도 막히지 않고, 만들다 만 사전을 볼 일도 없다.
+ * 사전이 불변이어야(item17) 이렇게 참조만 바꿔 공유할 수 있다.
+ *
+ * SpellChecker3에 주입하면 SpellChecker3을 새로 만들지 않고도 사전을 교체할 수 있다.
+ * 단, SpellChecker3의 추천 색인은 처음 suggestions를 부른 시점의 단어 목록으로 만들어진다.
+ */
+public final class ReloadableLexicon implements Lexicon {
+  private final ToLongFunction<? super Lexicon> sizeEstimator; // 없으면 null
+  private final AtomicReference<Snapshot> current;
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final AtomicLong reloadCount = new AtomicLong();
+  private final AtomicLong failureCount = new AtomicLong();
+  private volatile long lastReloadNanos = 0;
+  private volatile long lastSwapOverlapBytes = -1;
+
+  public ReloadableLexicon(Lexicon initial) {
+    this.sizeEstimator = null;
+    this.current = new AtomicReference<>(new Snapshot(Objects.requireNonNull(initial), 0, -1));
+  }
+
+  /*
+   * sizeEstimator는 사전 하나가 차지하는 바이트의 추정치를 반환한다(DawgLexicon이라면 estimatedBytes).
+   * 스냅샷마다 발행 전에 한 번만 호출되므로 find 경로에는 비용이 없다.
+   */
+  public ReloadableLexicon(Lexicon initial, ToLongFunction<? super Lexicon> sizeEstimator) {
+    this.sizeEstimator = Objects.requireNonNull(sizeEstimator);
+    this.current = new AtomicReference<>(new Snapshot(Objects.requireNonNull(initial), 0, sizeOf(initial)));
+  }
+
+  @Override
+  public String find(String word) {
+    return current.get().lexicon.find(word);
+  }
+
+  @Override
+  public Iterable<String> words() {
+    return current.get().lexicon.words();
+  }
+
+  public Lexicon current() {
+    return current.get().lexicon;
+  }
+
+  /*
+   * 발행된 스냅샷의 번호, 처음 사전은 0번
+   */
+  public long version() {
+    return current.get().version;
+  }
+
+  /*
+   * loader로 새 사전을 executor에서 만들고 완성되면 발행한다.
+   * 재적재가 겹치면 나중에 시작한 쪽이 이기며, 먼저 시작한 쪽이 늦게 끝나도 최신 사전을 덮어쓰지 않는다.
+   * 반환된 future는 발행된 사전으로 완료되고, loader가 실패하면 기존 사전을 그대로 둔 채 예외로 완료된다.
+   */
+  public CompletableFuture<Lexicon> reloadAsync(Supplier<? extends Lexicon> loader, Executor executor) {
+    Objects.requireNonNull(loader);
+    long version = sequence.incrementAndGet();
+    return CompletableFuture.supplyAsync(() -> {
+      long start = System.nanoTime();
+      Lexicon lexicon;
+      long elapsed;
+      Snapshot next;
+      try {
+        lexicon = Objects.requireNonNull(loader.get(), "loader가 null을 반환했습니다.");
+        elapsed = System.nanoTime() - start;
+        next = new Snapshot(lexicon, version, sizeOf(lexicon));
+      } catch (RuntimeException | Error e) {
+        failureCount.incrementAndGet();
+        throw e;
+      }
+
+      Snapshot prev;
+      do {
+        prev = current.get();
+        if (prev.version > version) {
+          return prev.lexicon; // 더 나중에 시작한 재적재가 이미 발행했다.
+        }
+      } while (!current.compareAndSet(prev, next));
+
+      lastReloadNanos = elapsed;
+      if (sizeEstimator != null) {
+        lastSwapOverlapBytes = prev.bytes + next.bytes; // 교체하는 순간에는 두 스냅샷이 모두 살아 있다.
+      }
+      reloadCount.incrementAndGet();
+      return lexicon;
+    }, executor);
+  }
+
+  public long reloadCount() {
+    return reloadCount.get();
+  }
+
+  public long failureCount() {
+    return failureCount.get();
+  }
+
+  /*
+   * 마지막으로 발행된 사전을 만드는 데 걸린 시간
+   */
+  public long lastReloadNanos() {
+    return lastReloadNanos;
+  }
+
+  /*
+   * 마지막 교체 때 함께 살아 있던 옛 스냅샷과 새 스냅샷의 추정 크기 합(바이트)
+   * sizeEstimator로 계산하므로 GC 시점과 상관없이 같은 사전이면 같은 값이다.
+   * sizeEstimator 없이 만들었거나 아직 교체한 적이 없으면 -1
+   */
+  public long lastSwapOverlapBytes() {
+    return lastSwapOverlapBytes;
+  }
+
+  private long sizeOf(Lexicon lexicon) {
+    return sizeEstimator == null ? -1 : sizeEstimator.applyAsLong(lexicon);
+  }
+
+  private static final class Snapshot {
+    final Lexicon lexicon;
+    final long version;
+    final long bytes; // sizeEstimator의 추정치, 없으면 -1
+
+    Snapshot(Lexicon lexicon, long version, long bytes) {
+      this.lexicon = lexicon;
+      this.version = version;
+      this.bytes = bytes;
+    }
+  }
+}
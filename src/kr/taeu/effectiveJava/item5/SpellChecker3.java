@@ -1,6 +1,5 @@
 package kr.taeu.effectiveJava.item5;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -8,20 +7,40 @@ import java.util.Objects;
  * 싱글턴을 잘못 사용한 예
  */
 public class SpellChecker3 {
+  private static final int MAX_EDIT_DISTANCE = 2;
+  private static final int MAX_SUGGESTIONS = 10;
+  
   private final Lexicon dictionary;
+  private volatile SuggestionIndex suggestionIndex; // 처음 suggestions를 부를 때 만든다.
   
   public SpellChecker3(Lexicon dictionary) {
     this.dictionary = Objects.requireNonNull(dictionary);
   }
   
   public boolean isValid(String word) {
-    dictionary.find(word);
-    // ...
-    return true;
+    return dictionary.find(word) != null;
   }
+  /*
+   * 추천 색인은 처음 호출될 때 그 시점의 단어 목록으로 만든다.
+   * 단어를 나열할 수 없는 사전(원격 사전 등)이라면 UnsupportedOperationException을 던진다.
+   */
   public List<String> suggestions(String typo) {
-    dictionary.find(typo);
-    // ...
-    return new ArrayList<String>();
+    return suggestionIndex().suggest(typo, MAX_SUGGESTIONS);
+  }
+
+  // 이중 검사 관용구
+  private SuggestionIndex suggestionIndex() {
+    SuggestionIndex result = suggestionIndex;
+    if (result == null) {
+      synchronized (this) {
+        result = suggestionIndex;
+        if (result == null) {
+          suggestionIndex = result = dictionary instanceof DawgLexicon
+              ? new SuggestionIndex((DawgLexicon) dictionary, MAX_EDIT_DISTANCE) // 단어를 문자열로 들고 있지 않는다.
+              : new SuggestionIndex(dictionary.words(), MAX_EDIT_DISTANCE);
+        }
+      }
+    }
+    return result;
   }
 }
@@ -0,0 +1,56 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * 50만 단어 사전에서 SpellChecker3.suggestions의 지연 시간 분포(p50, p99) 측정
+ */
+public class SuggestionBenchmark {
+  private static final int QUERIES = 200_000;
+
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    List<String> words = LexiconBenchmark.randomWords(500_000, random);
+    long start = System.nanoTime();
+    SpellChecker3 checker = new SpellChecker3(DawgLexicon.of(words));
+    checker.suggestions(words.get(0)); // 추천 색인은 처음 호출할 때 만들어진다.
+    System.out.printf("build: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+    String[] typos = new String[4096];
+    for (int i = 0; i < typos.length; i++) {
+      typos[i] = typo(words.get(random.nextInt(words.size())), random);
+    }
+
+    long[] latencies = new long[QUERIES];
+    int found = 0;
+    for (int round = 0; round < 2; round++) { // 워밍업 1회 + 측정 1회
+      found = 0;
+      for (int i = 0; i < QUERIES; i++) {
+        long t = System.nanoTime();
+        found += checker.suggestions(typos[i % typos.length]).isEmpty() ? 0 : 1;
+        latencies[i] = System.nanoTime() - t;
+      }
+    }
+    Arrays.sort(latencies);
+    System.out.printf("suggestions: p50 %.1f us, p99 %.1f us, max %.1f us (found=%d/%d)%n",
+        latencies[QUERIES / 2] / 1000.0, latencies[QUERIES * 99 / 100] / 1000.0,
+        latencies[QUERIES - 1] / 1000.0, found, QUERIES);
+  }
+
+  /*
+   * 글자 하나를 바꾸거나, 지우거나, 끼워 넣는다.
+   */
+  private static String typo(String word, Random random) {
+    StringBuilder sb = new StringBuilder(word);
+    int pos = random.nextInt(word.length());
+    char c = (char) ('a' + random.nextInt(26));
+    switch (random.nextInt(3)) {
+      case 0: sb.setCharAt(pos, c); break;
+      case 1: sb.deleteCharAt(pos); break;
+      default: sb.insert(pos, c); break;
+    }
+    return sb.toString();
+  }
+}
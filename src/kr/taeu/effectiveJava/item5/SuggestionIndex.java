@@ -0,0 +1,253 @@
+package kr.taeu.effectiveJava.item5;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/*
+ * SymSpell 방식의 삭제(deletion) 색인
+ * 사전 단어마다 앞 prefixLength 글자에서 최대 maxDistance 글자를 지운 변형을 미리 만들어두고,
+ * 조회 때는 오타에서도 같은 방식으로 지운 변형을 만들어 서로 겹치는 단어만 편집 거리를 계산한다.
+ * 사전 전체를 훑는 방식과 달리 조회 비용이 사전 크기에 거의 영향을 받지 않는다.
+ *
+ * 변형 문자열을 직접 보관하면 힙이 감당할 수 없으므로 (32비트 해시 << 32 | 단어 번호)를 long 하나로
+ * 묶어 정렬된 배열에 담는다. 해시 충돌로 잘못 뽑힌 후보는 편집 거리 검증에서 걸러진다.
+ * DawgLexicon으로 만들면 단어 문자열도 들고 있지 않고, 후보를 검증할 때 단어 번호로 DAWG에서 다시 만든다.
+ */
+public final class SuggestionIndex {
+  private static final int DEFAULT_PREFIX_LENGTH = 7;
+
+  private final IntFunction<String> wordAt; // 단어 번호 -> 단어
+  private final int wordCount;
+  private final long[] entries; // 정렬된 (해시 << 32 | 단어 번호)
+  private final int maxDistance;
+  private final int prefixLength;
+
+  public SuggestionIndex(Iterable<String> words, int maxDistance) {
+    this(words, maxDistance, DEFAULT_PREFIX_LENGTH);
+  }
+
+  public SuggestionIndex(Iterable<String> words, int maxDistance, int prefixLength) {
+    this(toArray(words), maxDistance, prefixLength);
+  }
+
+  private SuggestionIndex(String[] words, int maxDistance, int prefixLength) {
+    this(Arrays.asList(words), id -> words[id], maxDistance, prefixLength);
+  }
+
+  /*
+   * DAWG의 사전 순 단어 번호를 그대로 색인에 쓴다. 단어 문자열은 색인을 만드는 동안에만 존재한다.
+   */
+  public SuggestionIndex(DawgLexicon dictionary, int maxDistance) {
+    this(dictionary.words(), dictionary::wordAt, maxDistance, DEFAULT_PREFIX_LENGTH);
+  }
+
+  /*
+   * words를 순회하는 순서가 단어 번호이고, wordAt은 그 번호로 같은 단어를 돌려줘야 한다.
+   */
+  private SuggestionIndex(Iterable<String> words, IntFunction<String> wordAt, int maxDistance, int prefixLength) {
+    if (maxDistance < 0 || prefixLength <= maxDistance) {
+      throw new IllegalArgumentException("maxDistance: " + maxDistance + ", prefixLength: " + prefixLength);
+    }
+    this.wordAt = wordAt;
+    this.maxDistance = maxDistance;
+    this.prefixLength = prefixLength;
+
+    LongBuffer buffer = new LongBuffer(1 << 16);
+    int id = 0;
+    for (String word : words) {
+      final int wordId = id++;
+      forEachDelete(word, hash -> buffer.add(((long) hash << 32) | wordId));
+    }
+    this.wordCount = id;
+    long[] raw = buffer.toArray();
+    Arrays.sort(raw);
+    this.entries = dedupe(raw);
+  }
+
+  /*
+   * 편집 거리가 maxDistance 이내인 단어를 거리가 가까운 순(같으면 사전 순)으로 최대 limit개 반환한다.
+   */
+  public List<String> suggest(String typo, int limit) {
+    if (limit <= 0 || wordCount == 0) {
+      return Collections.emptyList();
+    }
+    BitSet seen = new BitSet();
+    List<Candidate> candidates = new ArrayList<>();
+    int[] rows = new int[2 * (typo.length() + 1)];
+    forEachDelete(typo, hash -> {
+      long key = (long) hash << 32;
+      for (int i = lowerBound(key); i < entries.length && (entries[i] >>> 32) == (hash & 0xFFFFFFFFL); i++) {
+        int id = (int) entries[i];
+        if (seen.get(id)) {
+          continue;
+        }
+        seen.set(id);
+        String word = wordAt.apply(id);
+        int distance = distance(typo, word, rows);
+        if (distance <= maxDistance) {
+          candidates.add(new Candidate(word, distance));
+        }
+      }
+    });
+    Collections.sort(candidates);
+    List<String> result = new ArrayList<>(Math.min(limit, candidates.size()));
+    for (int i = 0; i < candidates.size() && i < limit; i++) {
+      result.add(candidates.get(i).word);
+    }
+    return result;
+  }
+
+  public int maxDistance() {
+    return maxDistance;
+  }
+
+  private static String[] toArray(Iterable<String> words) {
+    List<String> list = new ArrayList<>();
+    for (String word : words) {
+      list.add(word);
+    }
+    return list.toArray(new String[0]);
+  }
+
+  private int lowerBound(long key) {
+    int lo = 0;
+    int hi = entries.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (entries[mid] < key) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /*
+   * 앞 prefixLength 글자에서 0 ~ maxDistance 글자를 지운 모든 변형의 해시를 넘겨준다.
+   * 문자열을 만들지 않고 지운 위치만 기억해 해시를 계산한다.
+   */
+  private void forEachDelete(String word, HashSink sink) {
+    int length = Math.min(word.length(), prefixLength);
+    int[] deleted = new int[maxDistance];
+    deletes(word, length, deleted, 0, 0, sink);
+  }
+
+  private void deletes(String word, int length, int[] deleted, int depth, int from, HashSink sink) {
+    sink.accept(hash(word, length, deleted, depth));
+    if (depth == maxDistance || length - depth <= 0) {
+      return;
+    }
+    for (int i = from; i < length; i++) {
+      deleted[depth] = i;
+      deletes(word, length, deleted, depth + 1, i + 1, sink);
+    }
+  }
+
+  private static int hash(String word, int length, int[] deleted, int deletedCount) {
+    int h = 0x811C9DC5; // FNV-1a
+    int d = 0;
+    for (int i = 0; i < length; i++) {
+      if (d < deletedCount && deleted[d] == i) {
+        d++;
+        continue;
+      }
+      h = (h ^ word.charAt(i)) * 0x01000193;
+    }
+    return h ^ (length - deletedCount);
+  }
+
+  /*
+   * 두 줄만 쓰는 레벤슈타인 거리, 한 줄의 최솟값이 maxDistance를 넘으면 바로 포기한다.
+   */
+  private int distance(String a, String b, int[] rows) {
+    if (Math.abs(a.length() - b.length()) > maxDistance) {
+      return Integer.MAX_VALUE;
+    }
+    int width = a.length() + 1;
+    int prev = 0;
+    int cur = width;
+    for (int i = 0; i < width; i++) {
+      rows[prev + i] = i;
+    }
+    for (int j = 1; j <= b.length(); j++) {
+      rows[cur] = j;
+      int rowMin = j;
+      char bc = b.charAt(j - 1);
+      for (int i = 1; i < width; i++) {
+        int cost = a.charAt(i - 1) == bc ? 0 : 1;
+        int v = Math.min(Math.min(rows[cur + i - 1] + 1, rows[prev + i] + 1), rows[prev + i - 1] + cost);
+        rows[cur + i] = v;
+        rowMin = Math.min(rowMin, v);
+      }
+      if (rowMin > maxDistance) {
+        return Integer.MAX_VALUE;
+      }
+      int t = prev;
+      prev = cur;
+      cur = t;
+    }
+    return rows[prev + a.length()];
+  }
+
+  private static long[] dedupe(long[] sorted) {
+    if (sorted.length == 0) {
+      return sorted;
+    }
+    int n = 1;
+    for (int i = 1; i < sorted.length; i++) {
+      if (sorted[i] != sorted[n - 1]) {
+        sorted[n++] = sorted[i];
+      }
+    }
+    return Arrays.copyOf(sorted, n);
+  }
+
+  @FunctionalInterface
+  private interface HashSink {
+    void accept(int hash);
+  }
+
+  private static final class Candidate implements Comparable<Candidate> {
+    final String word;
+    final int distance;
+
+    Candidate(String word, int distance) {
+      this.word = word;
+      this.distance = distance;
+    }
+
+    @Override
+    public int compareTo(Candidate c) {
+      int result = Integer.compare(distance, c.distance);
+      if (result == 0) {
+        result = word.compareTo(c.word);
+      }
+      return result;
+    }
+  }
+
+  private static final class LongBuffer {
+    private long[] values;
+    private int size = 0;
+
+    LongBuffer(int initialCapacity) {
+      values = new long[Math.max(16, initialCapacity)];
+    }
+
+    void add(long v) {
+      if (values.length == size) {
+        values = Arrays.copyOf(values, 2 * size + 1);
+      }
+      values[size++] = v;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
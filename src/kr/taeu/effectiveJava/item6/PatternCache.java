@@ -0,0 +1,177 @@
+package kr.taeu.effectiveJava.item6;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/*
+ * RomanNumeral2처럼 컴파일한 Pattern을 재사용하되, 정규표현식이 설정 파일 등에서 동적으로 들어올 때 쓰는 공유 캐시
+ * 정규표현식 문자열과 플래그가 같으면 같은 Pattern 인스턴스를 돌려준다(Pattern은 불변이라 공유해도 안전하다).
+ *
+ * - 적중: ConcurrentHashMap.get과 volatile 쓰기 하나로 끝나며 락을 잡지 않는다.
+ * - 미스: 같은 키를 동시에 요청해도 future를 먼저 등록한 스레드 하나만 컴파일하고 나머지는 그 결과를 기다린다.
+ * - 축출: 크기가 maximumSize를 넘으면 CLOCK(두 번째 기회) 방식으로 최근에 쓰이지 않은 패턴부터 버린다.
+ */
+public final class PatternCache {
+	private final int maximumSize;
+	private final ConcurrentHashMap<Key, Entry> map = new ConcurrentHashMap<>();
+	private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder compileCount = new LongAdder();
+	private final LongAdder totalCompileNanos = new LongAdder();
+
+	public PatternCache(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize: " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+	}
+
+	public Pattern get(String regex) {
+		return get(regex, 0);
+	}
+
+	/*
+	 * 문법이 잘못된 정규표현식이면 Pattern.compile과 같은 PatternSyntaxException을 던지며, 실패한 결과는 캐싱하지 않는다.
+	 */
+	public Pattern get(String regex, int flags) {
+		Key key = new Key(regex, flags);
+		Entry entry = map.get(key);
+		if (entry != null) {
+			hitCount.increment();
+			if (!entry.referenced) { // 이미 true면 쓰지 않아 캐시 라인을 더럽히지 않는다.
+				entry.referenced = true;
+			}
+			return await(entry);
+		}
+
+		Entry created = new Entry(key);
+		entry = map.putIfAbsent(key, created);
+		if (entry != null) {
+			hitCount.increment(); // 다른 스레드가 컴파일 중이거나 막 끝냈다.
+			return await(entry);
+		}
+		missCount.increment();
+
+		long start = System.nanoTime();
+		Pattern pattern;
+		try {
+			pattern = Pattern.compile(regex, flags);
+		} catch (Throwable e) { // Error(StackOverflowError 등)여도 미완료 future를 맵에 남기지 않는다.
+			map.remove(key, created);
+			created.future.completeExceptionally(e);
+			throw e;
+		} finally {
+			compileCount.increment();
+			totalCompileNanos.add(System.nanoTime() - start);
+		}
+		created.future.complete(pattern);
+		clock.add(created);
+		evictIfNeeded();
+		return pattern;
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	public long hitCount() {
+		return hitCount.sum();
+	}
+
+	public long missCount() {
+		return missCount.sum();
+	}
+
+	public long evictionCount() {
+		return evictionCount.sum();
+	}
+
+	public double hitRate() {
+		long hits = hitCount.sum();
+		long requests = hits + missCount.sum();
+		return requests == 0 ? 1.0 : (double) hits / requests;
+	}
+
+	public long totalCompileNanos() {
+		return totalCompileNanos.sum();
+	}
+
+	public double averageCompileNanos() {
+		long count = compileCount.sum();
+		return count == 0 ? 0.0 : (double) totalCompileNanos.sum() / count;
+	}
+
+	/*
+	 * 시곗바늘이 가리키는 패턴이 최근에 쓰였다면 표시만 지우고 뒤로 보내고(두 번째 기회), 아니면 버린다.
+	 */
+	private void evictIfNeeded() {
+		while (map.size() > maximumSize) {
+			Entry victim = clock.poll();
+			if (victim == null) {
+				return;
+			}
+			if (victim.referenced) {
+				victim.referenced = false;
+				clock.add(victim);
+			} else if (map.remove(victim.key, victim)) {
+				evictionCount.increment();
+			}
+		}
+	}
+
+	private static Pattern await(Entry entry) {
+		try {
+			return entry.future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private static final class Entry {
+		final Key key;
+		final CompletableFuture<Pattern> future = new CompletableFuture<>();
+		volatile boolean referenced = false;
+
+		Entry(Key key) {
+			this.key = key;
+		}
+	}
+
+	private static final class Key {
+		private final String regex;
+		private final int flags;
+
+		Key(String regex, int flags) {
+			this.regex = regex;
+			this.flags = flags;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o == this) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key k = (Key) o;
+			return k.flags == flags && k.regex.equals(regex);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * regex.hashCode() + flags;
+		}
+	}
+}
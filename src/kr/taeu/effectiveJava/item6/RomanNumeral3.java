@@ -0,0 +1,190 @@
+package kr.taeu.effectiveJava.item6;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Pattern조차 만들지 않는다 - 손으로 만든 상태 기계(DFA)
+ * RomanNumeral2는 Pattern은 재사용하지만 호출마다 Matcher를 만든다.
+ * 같은 정규표현식을 상태 전이표로 바꿔 클래스 초기화 때 한 번만 만들어두면
+ * 검사와 변환 모두 객체를 하나도 만들지 않는다.
+ */
+public class RomanNumeral3 {
+	private static final String SYMBOLS = "MDCLXVI";
+	private static final int[] SYMBOL = new int[128]; // 문자 -> 기호 번호, 로마 숫자가 아니면 -1
+	private static final int[] VALUE = { 1000, 500, 100, 50, 10, 5, 1 };
+
+	private static final int START = 0;
+	private static final int REJECT = -1;
+	private static final int[] NEXT; // NEXT[state * 8 + symbol] -> 다음 상태
+	private static final String[] ROMAN = new String[4000]; // 1 ~ 3999의 표기
+
+	private static final String[][] GROUPS = {
+			{ "C", "CC", "CCC", "CD", "D", "DC", "DCC", "DCCC", "CM" },
+			{ "X", "XX", "XXX", "XL", "L", "LX", "LXX", "LXXX", "XC" },
+			{ "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX" } };
+
+	static {
+		for (int i = 0; i < SYMBOL.length; i++) {
+			SYMBOL[i] = SYMBOLS.indexOf(i);
+		}
+		NEXT = buildTable();
+		for (int n = 1; n < ROMAN.length; n++) {
+			StringBuilder sb = new StringBuilder();
+			appendRoman(n, sb);
+			ROMAN[n] = sb.toString();
+		}
+	}
+
+	/*
+	 * "^(?=.)M*(C[MD]|D?C{0,3})(X[CL]|L?X{0,3})(I[XV]|V?I{0,3})$"와 같은 언어를 받아들이는 전이표를 만든다.
+	 * 상태 0은 시작, 1은 M을 하나 이상 읽은 상태, 나머지는 백/십/일의 자리 표기(GROUPS)의 접두사다.
+	 * 각 자리의 표기는 모든 접두사가 그 자체로 올바른 표기이고, 자리마다 쓰는 문자가 겹치지 않아
+	 * 다음 문자가 현재 자리를 이어가는지 다음 자리를 시작하는지 항상 하나로 정해진다.
+	 * 시작 상태를 뺀 모든 상태가 수락 상태다(빈 문자열은 (?=.)로 거부).
+	 */
+	private static int[] buildTable() {
+		List<Map<Character, Integer>> edges = new ArrayList<>();
+		edges.add(new HashMap<>()); // START
+		edges.add(new HashMap<>()); // M+
+		List<Integer> groupOf = new ArrayList<>();
+		groupOf.add(-1);
+		groupOf.add(-1);
+		edges.get(START).put('M', 1);
+		edges.get(1).put('M', 1);
+
+		int[] groupRoot = new int[GROUPS.length];
+		for (int g = 0; g < GROUPS.length; g++) {
+			groupRoot[g] = edges.size();
+			edges.add(new HashMap<>());
+			groupOf.add(g);
+			for (String digit : GROUPS[g]) {
+				int node = groupRoot[g];
+				for (char c : digit.toCharArray()) {
+					Integer child = edges.get(node).get(c);
+					if (child == null) {
+						child = edges.size();
+						edges.add(new HashMap<>());
+						groupOf.add(g);
+						edges.get(node).put(c, child);
+					}
+					node = child;
+				}
+			}
+		}
+
+		int[] next = new int[edges.size() * 8];
+		Arrays.fill(next, REJECT);
+		for (int state = 0; state < edges.size(); state++) {
+			for (int s = 0; s < SYMBOLS.length(); s++) {
+				char c = SYMBOLS.charAt(s);
+				Integer target = edges.get(state).get(c);
+				// 현재 자리를 이어갈 수 없으면 뒤쪽 자리 중 c로 시작하는 자리로 넘어간다.
+				for (int g = groupOf.get(state) + 1; target == null && g < GROUPS.length; g++) {
+					target = edges.get(groupRoot[g]).get(c);
+				}
+				if (target != null) {
+					next[state * 8 + s] = target;
+				}
+			}
+		}
+		// 자리의 뿌리 노드는 문자를 하나도 읽지 않은 가상의 상태라 직접 도달하지 않는다.
+		return next;
+	}
+
+	static boolean isRomanNumeral(CharSequence s) {
+		return isRomanNumeral(s, 0, s.length());
+	}
+
+	static boolean isRomanNumeral(CharSequence s, int from, int to) {
+		int state = START;
+		for (int i = from; i < to && state != REJECT; i++) {
+			state = step(state, s.charAt(i));
+		}
+		return state > START;
+	}
+
+	/*
+	 * ASCII로 인코딩된 바이트 구간 [from, to)를 검사한다.
+	 */
+	static boolean isRomanNumeral(byte[] bytes, int from, int to) {
+		int state = START;
+		for (int i = from; i < to && state != REJECT; i++) {
+			state = step(state, (char) (bytes[i] & 0xFF));
+		}
+		return state > START;
+	}
+
+	/*
+	 * 검사와 변환을 한 번에 한다. 뒤 기호가 더 크면 앞 기호를 빼는 일반 규칙을 쓰며,
+	 * 상태 기계가 올바른 표기임을 보장하므로 이 규칙만으로 정확한 값이 나온다.
+	 */
+	static int toInt(CharSequence s) {
+		int state = START;
+		int total = 0;
+		int prev = 0;
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			state = step(state, c);
+			if (state == REJECT) {
+				throw new IllegalArgumentException("로마 숫자가 아닙니다: " + s);
+			}
+			int value = VALUE[SYMBOL[c]];
+			total += value > prev ? value - 2 * prev : value;
+			if (total < 0) {
+				throw new ArithmeticException("int 범위를 넘습니다: " + s);
+			}
+			prev = value;
+		}
+		if (state == START) {
+			throw new IllegalArgumentException("로마 숫자가 아닙니다: " + s);
+		}
+		return total;
+	}
+
+	/*
+	 * 1 ~ 3999는 미리 만들어둔 문자열을 반환한다.
+	 */
+	static String toRoman(int n) {
+		if (n <= 0) {
+			throw new IllegalArgumentException("로마 숫자로 표기할 수 없습니다: " + n);
+		}
+		if (n < ROMAN.length) {
+			return ROMAN[n];
+		}
+		StringBuilder sb = new StringBuilder();
+		appendRoman(n, sb);
+		return sb.toString();
+	}
+
+	/*
+	 * 호출한 쪽의 버퍼에 직접 쓴다.
+	 */
+	static void appendRoman(int n, StringBuilder sb) {
+		if (n <= 0) {
+			throw new IllegalArgumentException("로마 숫자로 표기할 수 없습니다: " + n);
+		}
+		for (int i = n / 1000; i > 0; i--) {
+			sb.append('M');
+		}
+		appendDigit(GROUPS[0], n / 100 % 10, sb);
+		appendDigit(GROUPS[1], n / 10 % 10, sb);
+		appendDigit(GROUPS[2], n % 10, sb);
+	}
+
+	private static void appendDigit(String[] group, int digit, StringBuilder sb) {
+		if (digit > 0) {
+			sb.append(group[digit - 1]);
+		}
+	}
+
+	private static int step(int state, char c) {
+		if (c >= SYMBOL.length || SYMBOL[c] < 0) {
+			return REJECT;
+		}
+		return NEXT[state * 8 + SYMBOL[c]];
+	}
+}
@@ -0,0 +1,54 @@
+package kr.taeu.effectiveJava.item6;
+
+import java.util.Random;
+import java.util.function.Predicate;
+
+/*
+ * RomanNumeral1(매번 Pattern 생성), RomanNumeral2(Pattern 재사용), RomanNumeral3(상태 기계) 비교
+ * 입력은 올바른 로마 숫자와 한 글자가 틀린 문자열이 반반이다.
+ */
+public class RomanNumeralBenchmark {
+	private static final int CALLS = 2_000_000;
+
+	public static void main(String[] args) {
+		Random random = new Random(42);
+		String[] inputs = new String[4096];
+		for (int i = 0; i < inputs.length; i++) {
+			String roman = RomanNumeral3.toRoman(1 + random.nextInt(3999));
+			if (i % 2 == 1) {
+				char[] cs = roman.toCharArray();
+				cs[random.nextInt(cs.length)] = "MDCLXVIA".charAt(random.nextInt(8));
+				roman = new String(cs);
+			}
+			inputs[i] = roman;
+		}
+
+		run("RomanNumeral1", RomanNumeral1::isRomanNumeral, inputs, CALLS / 10);
+		run("RomanNumeral2", RomanNumeral2::isRomanNumeral, inputs, CALLS);
+		run("RomanNumeral3", RomanNumeral3::isRomanNumeral, inputs, CALLS);
+
+		long start = System.nanoTime();
+		long sum = 0;
+		for (int i = 0; i < CALLS; i++) {
+			sum += RomanNumeral3.toInt(RomanNumeral3.toRoman(1 + i % 3999));
+		}
+		System.out.printf("%-14s %.1f ns/op (sum=%d)%n", "toRoman+toInt",
+				(double) (System.nanoTime() - start) / CALLS, sum);
+	}
+
+	private static void run(String name, Predicate<String> isRoman, String[] inputs, int calls) {
+		int valid = 0;
+		long elapsed = 0;
+		for (int round = 0; round < 2; round++) { // 워밍업 1회 + 측정 1회
+			valid = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < calls; i++) {
+				if (isRoman.test(inputs[i % inputs.length])) {
+					valid++;
+				}
+			}
+			elapsed = System.nanoTime() - start;
+		}
+		System.out.printf("%-14s %.1f ns/op (valid=%d/%d)%n", name, (double) elapsed / calls, valid, calls);
+	}
+}
@@ -0,0 +1,66 @@
+package kr.taeu.effectiveJava.item7;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/*
+ * double 값을 박싱 없이 담는 Stack2
+ * 증가 방식(2 * size + 1)과 pop의 동작(비었으면 EmptyStackException)은 Stack2와 같다.
+ * 원소가 참조가 아니므로 pop할 때 다 쓴 참조를 해제할 필요가 없다.
+ */
+public class DoubleStack {
+  private double[] elements;
+  private int size = 0;
+  private static final int DEFAULT_INITIAL_CAPACITY = 16;
+  
+  public DoubleStack() {
+    elements = new double[DEFAULT_INITIAL_CAPACITY];
+  }
+  
+  public void push(double e) {
+    ensureCapacity(1);
+    elements[size++] = e;
+  }
+  
+  public double pop() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    return elements[--size];
+  }
+  
+  /*
+   * src의 원소를 앞에서부터 차례로 push한 것과 같다. 용량은 한 번만 늘리고 한 번에 복사한다.
+   */
+  public void pushAll(double[] src) {
+    ensureCapacity(src.length);
+    System.arraycopy(src, 0, elements, size, src.length);
+    size += src.length;
+  }
+  
+  /*
+   * 최대 dst.length개를 pop해서 꺼낸 순서대로(dst[0]이 맨 위 원소) 담고, 꺼낸 개수를 반환한다.
+   */
+  public int popInto(double[] dst) {
+    int n = Math.min(dst.length, size);
+    for (int i = 0; i < n; i++) {
+      dst[i] = elements[size - 1 - i];
+    }
+    size -= n;
+    return n;
+  }
+  
+  public int size() {
+    return size;
+  }
+  
+  public boolean isEmpty() {
+    return size == 0;
+  }
+  
+  private void ensureCapacity(int extra) {
+    if (elements.length - size < extra) {
+      elements = Arrays.copyOf(elements, Math.max(2 * size + 1, size + extra));
+    }
+  }
+}
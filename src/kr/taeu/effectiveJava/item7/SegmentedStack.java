@@ -0,0 +1,105 @@
+package kr.taeu.effectiveJava.item7;
+
+import java.util.EmptyStackException;
+
+/*
+ * 고정 크기 청크를 연결해 늘어나는 스택
+ * Stack2는 꽉 차면 배열을 두 배로 복사(Arrays.copyOf)하므로 클수록 한 번의 push가 오래 멈추고,
+ * 한번 커진 배열은 스택이 비어도 줄어들지 않아 큰 버스트 뒤에도 그만큼의 힙을 계속 붙잡는다.
+ *
+ * 이 스택은 청크 하나만 새로 붙이며 늘어나므로 기존 원소를 복사하지 않는다.
+ * 스택이 줄어 청크가 비면 최대 maxSpareChunks개만 다음 push를 위해 남겨두고(경계에서 push/pop이
+ * 반복돼도 할당과 해제를 되풀이하지 않도록 하는 히스테리시스) 나머지는 참조를 끊어 GC가 회수하게 한다.
+ */
+public class SegmentedStack<E> {
+  private static final int DEFAULT_CHUNK_SIZE = 1024;
+  private static final int DEFAULT_MAX_SPARE_CHUNKS = 1;
+
+  private final int chunkSize;
+  private final int maxSpareChunks;
+  private Chunk top;        // 맨 위 원소가 있는 청크
+  private int topCount = 0; // top 청크에 담긴 원소 수
+  private Chunk spares;     // 비워졌지만 남겨둔 청크들
+  private int spareCount = 0;
+  private int size = 0;
+
+  private static final class Chunk {
+    final Object[] elements;
+    Chunk below;
+
+    Chunk(int chunkSize) {
+      elements = new Object[chunkSize];
+    }
+  }
+
+  public SegmentedStack() {
+    this(DEFAULT_CHUNK_SIZE, DEFAULT_MAX_SPARE_CHUNKS);
+  }
+
+  public SegmentedStack(int chunkSize, int maxSpareChunks) {
+    if (chunkSize <= 0 || maxSpareChunks < 0) {
+      throw new IllegalArgumentException("chunkSize: " + chunkSize + ", maxSpareChunks: " + maxSpareChunks);
+    }
+    this.chunkSize = chunkSize;
+    this.maxSpareChunks = maxSpareChunks;
+    this.top = new Chunk(chunkSize);
+  }
+
+  public void push(E e) {
+    if (topCount == chunkSize) {
+      Chunk chunk = takeSpare();
+      chunk.below = top;
+      top = chunk;
+      topCount = 0;
+    }
+    top.elements[topCount++] = e;
+    size++;
+  }
+
+  public E pop() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    if (topCount == 0) { // 맨 위 청크가 비었으니 아래 청크로 내려간다.
+      Chunk emptied = top;
+      top = emptied.below;
+      topCount = chunkSize;
+      release(emptied);
+    }
+    @SuppressWarnings("unchecked") E result = (E) top.elements[--topCount];
+    top.elements[topCount] = null; // 다 쓴 참조 해제
+    size--;
+    return result;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  private Chunk takeSpare() {
+    if (spares == null) {
+      return new Chunk(chunkSize);
+    }
+    Chunk chunk = spares;
+    spares = chunk.below;
+    spareCount--;
+    return chunk;
+  }
+
+  /*
+   * 남겨둘 자리가 없으면 청크를 버린다(더 이상 참조하지 않으므로 GC 대상).
+   */
+  private void release(Chunk chunk) {
+    if (spareCount < maxSpareChunks) {
+      chunk.below = spares;
+      spares = chunk;
+      spareCount++;
+    } else {
+      chunk.below = null;
+    }
+  }
+}
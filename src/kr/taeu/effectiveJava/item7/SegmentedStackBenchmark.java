@@ -0,0 +1,57 @@
+package kr.taeu.effectiveJava.item7;
+
+import static kr.taeu.effectiveJava.util.Memory.usedHeap;
+
+/*
+ * 큰 버스트(2천만 개 push 후 모두 pop)에서 Stack2와 SegmentedStack의
+ * push 한 번의 최대 지연 시간(배열 복사로 멈추는 시간)과 버스트가 끝난 뒤에도 남아 있는 힙 비교
+ */
+public class SegmentedStackBenchmark {
+  private static final int BURST = 20_000_000;
+
+  public static void main(String[] args) {
+    Object value = new Object();
+    for (int round = 0; round < 2; round++) { // 워밍업 1회 + 측정 1회
+      long baseline = usedHeap();
+      Stack2 stack2 = new Stack2();
+      long worst = 0;
+      long start = System.nanoTime();
+      for (int i = 0; i < BURST; i++) {
+        long t = System.nanoTime();
+        stack2.push(value);
+        worst = Math.max(worst, System.nanoTime() - t);
+      }
+      for (int i = 0; i < BURST; i++) {
+        stack2.pop();
+      }
+      long elapsed = System.nanoTime() - start;
+      long retained = usedHeap() - baseline;
+      report(round, "Stack2", worst, elapsed, retained);
+      stack2.push(value); // 측정이 끝날 때까지 stack2가 살아 있게 한다.
+
+      baseline = usedHeap();
+      SegmentedStack<Object> segmented = new SegmentedStack<>();
+      worst = 0;
+      start = System.nanoTime();
+      for (int i = 0; i < BURST; i++) {
+        long t = System.nanoTime();
+        segmented.push(value);
+        worst = Math.max(worst, System.nanoTime() - t);
+      }
+      for (int i = 0; i < BURST; i++) {
+        segmented.pop();
+      }
+      elapsed = System.nanoTime() - start;
+      retained = usedHeap() - baseline;
+      report(round, "SegmentedStack", worst, elapsed, retained);
+      segmented.push(value);
+    }
+  }
+
+  private static void report(int round, String name, long worst, long elapsed, long retained) {
+    if (round == 1) {
+      System.out.printf("%-15s max push %8.2f ms, total %6d ms, retained after burst %,12d bytes%n",
+          name, worst / 1e6, elapsed / 1_000_000, retained);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package kr.taeu.effectiveJava.item7;
+
+import static kr.taeu.effectiveJava.util.Memory.allocatedBytes;
+
+/*
+ * Integer를 담는 Stack2와 IntStack의 처리량, 할당량 비교
+ * 할당량은 HotSpot의 스레드별 할당 바이트 카운터로 잰다.
+ */
+public class StackBenchmark {
+  private static final int OPS = 100_000_000;
+  private static final int DEPTH = 1_000;
+
+  public static void main(String[] args) {
+    for (int round = 0; round < 3; round++) { // 마지막 회차가 측정값
+      boxed();
+      primitive();
+      bulk();
+    }
+  }
+
+  private static void boxed() {
+    Stack2 stack = new Stack2();
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < OPS; i += DEPTH) {
+      for (int j = 0; j < DEPTH; j++) {
+        stack.push(i + j);
+      }
+      for (int j = 0; j < DEPTH; j++) {
+        sum += (Integer) stack.pop();
+      }
+    }
+    report("Stack2<Integer>", start, bytes, sum);
+  }
+
+  private static void primitive() {
+    IntStack stack = new IntStack();
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < OPS; i += DEPTH) {
+      for (int j = 0; j < DEPTH; j++) {
+        stack.push(i + j);
+      }
+      for (int j = 0; j < DEPTH; j++) {
+        sum += stack.pop();
+      }
+    }
+    report("IntStack", start, bytes, sum);
+  }
+
+  private static void bulk() {
+    IntStack stack = new IntStack();
+    int[] buf = new int[DEPTH];
+    long bytes = allocatedBytes();
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int i = 0; i < OPS; i += DEPTH) {
+      for (int j = 0; j < DEPTH; j++) {
+        buf[j] = i + j;
+      }
+      stack.pushAll(buf);
+      int n = stack.popInto(buf);
+      for (int j = 0; j < n; j++) {
+        sum += buf[j];
+      }
+    }
+    report("IntStack bulk", start, bytes, sum);
+  }
+
+  private static void report(String name, long start, long bytesBefore, long sum) {
+    long elapsed = System.nanoTime() - start;
+    long allocated = allocatedBytes() - bytesBefore;
+    System.out.printf("%-16s %6.2f ns/op, %,d bytes allocated (sum=%d)%n",
+        name, (double) elapsed / (2L * OPS), allocated, sum);
+  }
+}
@@ -0,0 +1,152 @@
+package kr.taeu.effectiveJava.item9;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/*
+ * 복사하면서 체크섬을 함께 계산한다 - 복사한 뒤 대상 파일을 다시 읽어 체크섬을 구하면 입출력이 두 배가 된다.
+ * 버퍼 두 개를 번갈아 쓰는 생산자/소비자 파이프라인으로, 호출한 스레드가 다음 덩어리를 읽고 쓰는 동안
+ * 체크섬 스레드가 이전 덩어리를 계산한다. 덩어리는 읽은 순서대로 계산되므로 결과는 파일 전체의 체크섬과 같다.
+ * 두 채널은 try-with-resources로 닫히고, 체크섬 스레드는 어떤 경우에도 메서드가 끝나기 전에 멈춘다.
+ */
+final class ChecksumCopy {
+	private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+	private ChecksumCopy() {
+	}
+
+	/*
+	 * CRC32로 계산한다(CRC32C는 자바 9부터 있다).
+	 */
+	static long copy(String src, String dst) throws IOException {
+		return copy(src, dst, new CRC32(), DEFAULT_BUFFER_SIZE);
+	}
+
+	/*
+	 * checksum을 복사한 바이트로 갱신하고 그 값을 반환한다.
+	 */
+	static long copy(String src, String dst, Checksum checksum, int bufferSize) throws IOException {
+		Objects.requireNonNull(checksum);
+		FileCopy.checkBufferSize(bufferSize);
+		BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(2);
+		BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(2);
+		free.add(new Chunk(bufferSize));
+		free.add(new Chunk(bufferSize));
+		Hasher hasher = new Hasher(checksum, free, filled);
+		Thread thread = new Thread(hasher, "checksum-copy-hasher");
+		thread.setDaemon(true);
+
+		try (FileChannel in = FileChannel.open(Paths.get(src), StandardOpenOption.READ);
+				FileChannel out = FileCopy.openForWrite(dst)) {
+			thread.start();
+			try {
+				while (true) {
+					Chunk chunk = free.take();
+					if (chunk == Chunk.FAILED) {
+						break;
+					}
+					ByteBuffer buf = chunk.buffer;
+					buf.clear();
+					if (in.read(buf) < 0) {
+						break;
+					}
+					buf.flip();
+					while (buf.hasRemaining()) {
+						out.write(buf);
+					}
+					chunk.length = buf.limit();
+					filled.put(chunk);
+				}
+				filled.put(Chunk.END); // 체크섬 스레드가 실패했다면 filled에 자리가 남아 있다.
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("복사 중 인터럽트되었습니다.");
+			} finally {
+				thread.interrupt(); // 이미 끝났다면 아무 일도 없다.
+				joinUninterruptibly(thread);
+			}
+		}
+		if (hasher.failure instanceof RuntimeException) {
+			throw (RuntimeException) hasher.failure;
+		}
+		if (hasher.failure instanceof Error) {
+			throw (Error) hasher.failure;
+		}
+		return checksum.getValue();
+	}
+
+	/*
+	 * 체크섬 스레드가 checksum을 건드리는 동안 반환하지 않도록 끝날 때까지 기다린다.
+	 * 기다리는 중에 인터럽트되면 계속 기다린 뒤 인터럽트 상태를 되살린다.
+	 */
+	private static void joinUninterruptibly(Thread thread) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				thread.join();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/*
+	 * filled의 덩어리를 차례로 계산하고 free로 돌려준다.
+	 */
+	private static final class Hasher implements Runnable {
+		private final Checksum checksum;
+		private final BlockingQueue<Chunk> free;
+		private final BlockingQueue<Chunk> filled;
+		volatile Throwable failure;
+
+		Hasher(Checksum checksum, BlockingQueue<Chunk> free, BlockingQueue<Chunk> filled) {
+			this.checksum = checksum;
+			this.free = free;
+			this.filled = filled;
+		}
+
+		@Override
+		public void run() {
+			try {
+				Chunk chunk;
+				while ((chunk = filled.take()) != Chunk.END) {
+					checksum.update(chunk.data, 0, chunk.length);
+					free.put(chunk);
+				}
+			} catch (InterruptedException e) {
+				// 복사가 중단되었다.
+			} catch (RuntimeException | Error e) {
+				failure = e;
+				free.offer(Chunk.FAILED); // 실패한 덩어리는 돌려주지 않으므로 자리가 있다.
+			}
+		}
+	}
+
+	private static final class Chunk {
+		static final Chunk END = new Chunk(0);
+		static final Chunk FAILED = new Chunk(0);
+
+		final byte[] data;
+		final ByteBuffer buffer;
+		int length;
+
+		Chunk(int size) {
+			this.data = new byte[size];
+			this.buffer = ByteBuffer.wrap(data);
+		}
+	}
+}
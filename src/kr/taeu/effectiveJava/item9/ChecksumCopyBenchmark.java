@@ -0,0 +1,103 @@
+package kr.taeu.effectiveJava.item9;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+/*
+ * 512MiB 파일 복사 처리량(MiB/s) 비교
+ * - copy only: 체크섬 없이 같은 크기의 버퍼로 복사(FileCopy.copyBuffered)
+ * - copy then verify: 복사한 뒤 대상 파일을 다시 읽어 CRC32 계산
+ * - inline: 한 스레드에서 읽기, 쓰기, CRC32 계산을 차례로
+ * - pipelined: ChecksumCopy
+ * 파이프라인은 계산을 입출력과 겹치므로 코어가 둘 이상이어야 이득이 난다.
+ */
+public class ChecksumCopyBenchmark {
+	private static final long MIB = 1024 * 1024;
+	private static final long SIZE = 512 * MIB;
+	private static final int BUFFER_SIZE = 1024 * 1024;
+
+	@FunctionalInterface
+	interface Copy {
+		long run() throws IOException;
+	}
+
+	public static void main(String[] args) throws IOException {
+		Path dir = Files.createTempDirectory("checksum-copy-benchmark");
+		Path src = dir.resolve("src");
+		Path dst = dir.resolve("dst");
+		try {
+			byte[] chunk = new byte[(int) MIB];
+			new Random(42).nextBytes(chunk);
+			try (OutputStream out = Files.newOutputStream(src)) {
+				for (long written = 0; written < SIZE; written += MIB) {
+					out.write(chunk);
+				}
+			}
+
+			for (int round = 0; round < 2; round++) { // 워밍업 1회 + 측정 1회
+				boolean print = round == 1;
+				measure("copy only", print, () -> {
+					FileCopy.copyBuffered(src.toString(), dst.toString(), BUFFER_SIZE);
+					return 0;
+				});
+				measure("copy then verify", print, () -> {
+					FileCopy.copyBuffered(src.toString(), dst.toString(), BUFFER_SIZE);
+					return checksumOf(dst);
+				});
+				measure("inline", print, () -> inlineCopy(src, dst));
+				measure("pipelined", print, () -> ChecksumCopy.copy(src.toString(), dst.toString(), new CRC32(), BUFFER_SIZE));
+			}
+		} finally {
+			Files.deleteIfExists(src);
+			Files.deleteIfExists(dst);
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	private static void measure(String name, boolean print, Copy copy) throws IOException {
+		long start = System.nanoTime();
+		long crc = copy.run();
+		long elapsed = System.nanoTime() - start;
+		if (print) {
+			System.out.printf("%-17s %,9.1f MiB/s (crc=%08x)%n", name, (double) SIZE / MIB / (elapsed / 1e9), crc);
+		}
+	}
+
+	private static long inlineCopy(Path src, Path dst) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] data = new byte[BUFFER_SIZE];
+		ByteBuffer buf = ByteBuffer.wrap(data);
+		try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+				FileChannel out = FileCopy.openForWrite(dst.toString())) {
+			while (in.read(buf) >= 0) {
+				buf.flip();
+				crc.update(data, 0, buf.limit());
+				while (buf.hasRemaining()) {
+					out.write(buf);
+				}
+				buf.clear();
+			}
+		}
+		return crc.getValue();
+	}
+
+	private static long checksumOf(Path path) throws IOException {
+		CRC32 crc = new CRC32();
+		ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+			while (in.read(buf) >= 0) {
+				buf.flip();
+				crc.update(buf);
+				buf.clear();
+			}
+		}
+		return crc.getValue();
+	}
+}
@@ -0,0 +1,84 @@
+package kr.taeu.effectiveJava.item9;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * 대용량 파일 복사 - TryWithResources1/2의 copy는 1KiB 힙 배열로 모든 바이트를 사용자 공간에 올렸다 내린다.
+ * FileChannel.transferTo를 쓰면 커널이 페이지 캐시끼리 직접 복사할 수 있다(리눅스의 sendfile/copy_file_range 등).
+ * 플랫폼이 이를 지원하지 않아 transferTo가 더 진행하지 못하면 나머지는 직접 ByteBuffer로 복사한다.
+ * 두 채널 모두 try-with-resources로 열어 어느 경로로 끝나든 닫힌다.
+ */
+final class FileCopy {
+	static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private FileCopy() {
+	}
+
+	static void transfer(String src, String dst) throws IOException {
+		transfer(src, dst, DEFAULT_BUFFER_SIZE);
+	}
+
+	/*
+	 * bufferSize는 zero-copy가 불가능할 때 쓰는 직접 버퍼의 크기다.
+	 */
+	static void transfer(String src, String dst, int bufferSize) throws IOException {
+		checkBufferSize(bufferSize);
+		try (FileChannel in = FileChannel.open(Paths.get(src), StandardOpenOption.READ);
+				FileChannel out = openForWrite(dst)) {
+			long size = in.size();
+			long position = 0;
+			while (position < size) {
+				long n = in.transferTo(position, size - position, out);
+				if (n <= 0) {
+					break;
+				}
+				position += n;
+			}
+			// transferTo가 멈췄거나 크기를 알 수 없는 파일(/proc 등)이면 남은 부분을 버퍼로 복사한다.
+			if (position < size || size == 0) {
+				copyBuffered(in, out, position, bufferSize);
+			}
+		}
+	}
+
+	/*
+	 * zero-copy 없이 직접 ByteBuffer 하나로 복사한다.
+	 */
+	static void copyBuffered(String src, String dst, int bufferSize) throws IOException {
+		checkBufferSize(bufferSize);
+		try (FileChannel in = FileChannel.open(Paths.get(src), StandardOpenOption.READ);
+				FileChannel out = openForWrite(dst)) {
+			copyBuffered(in, out, 0, bufferSize);
+		}
+	}
+
+	static FileChannel openForWrite(String dst) throws IOException {
+		return FileChannel.open(Paths.get(dst), StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	static void checkBufferSize(int bufferSize) {
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize: " + bufferSize);
+		}
+	}
+
+	/*
+	 * in의 position부터 끝까지 out의 같은 위치에 쓴다.
+	 */
+	private static void copyBuffered(FileChannel in, FileChannel out, long position, int bufferSize)
+			throws IOException {
+		ByteBuffer buf = ByteBuffer.allocateDirect(bufferSize);
+		while (in.read(buf, position) >= 0) {
+			buf.flip();
+			while (buf.hasRemaining()) {
+				position += out.write(buf, position);
+			}
+			buf.clear();
+		}
+	}
+}
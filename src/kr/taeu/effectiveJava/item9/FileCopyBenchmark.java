@@ -0,0 +1,77 @@
+package kr.taeu.effectiveJava.item9;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/*
+ * 파일 크기와 버퍼 크기별 복사 처리량(MiB/s) 비교
+ * - stream 1KiB: TryWithResources1.copy
+ * - direct N: FileCopy.copyBuffered
+ * - transferTo: FileCopy.transfer
+ * 원본은 방금 쓴 파일이라 페이지 캐시에 있으므로 디스크가 아니라 복사 경로의 비용을 잰다.
+ */
+public class FileCopyBenchmark {
+	private static final long MIB = 1024 * 1024;
+	private static final long[] FILE_SIZES = { MIB, 64 * MIB, 512 * MIB };
+	private static final int[] BUFFER_SIZES = { 8 * 1024, 64 * 1024, 1024 * 1024 };
+
+	public static void main(String[] args) throws IOException {
+		Path dir = Files.createTempDirectory("file-copy-benchmark");
+		try {
+			for (long size : FILE_SIZES) {
+				Path src = dir.resolve("src-" + size);
+				Path dst = dir.resolve("dst-" + size);
+				createFile(src, size);
+				try {
+					measure("stream 1KiB", size, () -> TryWithResources1.copy(src.toString(), dst.toString()));
+					for (int bufferSize : BUFFER_SIZES) {
+						measure("direct " + bufferSize / 1024 + "KiB", size,
+								() -> FileCopy.copyBuffered(src.toString(), dst.toString(), bufferSize));
+					}
+					measure("transferTo", size, () -> FileCopy.transfer(src.toString(), dst.toString()));
+				} finally {
+					Files.deleteIfExists(src);
+					Files.deleteIfExists(dst);
+				}
+			}
+		} finally {
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	@FunctionalInterface
+	interface Copy {
+		void run() throws IOException;
+	}
+
+	private static void measure(String name, long size, Copy copy) throws IOException {
+		long best = Long.MAX_VALUE;
+		for (int round = 0; round < 3; round++) { // 워밍업을 겸해 3회 중 가장 빠른 값
+			long start = System.nanoTime();
+			copy.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		System.out.printf("%4d MiB  %-14s %,9.1f MiB/s%n", size / MIB, name, (double) size / MIB / (best / 1e9));
+	}
+
+	private static void createFile(Path path, long size) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocateDirect((int) MIB);
+		byte[] chunk = new byte[(int) MIB];
+		new Random(42).nextBytes(chunk);
+		try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			for (long written = 0; written < size; written += MIB) {
+				buf.clear();
+				buf.put(chunk);
+				buf.flip();
+				while (buf.hasRemaining()) {
+					out.write(buf);
+				}
+			}
+		}
+	}
+}
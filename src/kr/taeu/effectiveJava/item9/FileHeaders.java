@@ -0,0 +1,218 @@
+package kr.taeu.effectiveJava.item9;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/*
+ * 많은 파일의 첫 줄(또는 앞 N바이트)을 한꺼번에 읽는다.
+ * TryWithResources2.firstLineOfFile을 반복 호출하면 파일마다 8KiB 버퍼의 BufferedReader를 만들고 한 번에 하나씩 읽는다.
+ *
+ * - concurrency개의 작업 스레드가 paths를 나눠 읽으므로 동시에 열린 파일은 concurrency개를 넘지 않는다.
+ * - 작업 스레드마다 작은 직접 버퍼 하나를 모든 파일에 재사용하고, 줄바꿈을 만나면 더 읽지 않는다.
+ * - 결과는 끝난 순서대로, 호출한 스레드에서 consumer에 전달된다.
+ * - 파일 하나를 읽다 실패해도 배치를 멈추지 않고 그 파일의 결과에 예외를 담는다.
+ * paths는 필요할 때마다 하나씩 꺼내므로 디렉터리를 순회하며 지연 생성되는 목록을 넘겨도 된다.
+ */
+final class FileHeaders {
+	static final int MAX_LINE_BYTES = 4 * 1024; // 첫 줄이 이보다 길면 잘린다.
+
+	/*
+	 * 파일 하나의 결과, 실패했다면 bytes 대신 error가 있다.
+	 */
+	static final class Header {
+		private final String path;
+		private final byte[] bytes;
+		private final boolean emptyFile;
+		private final IOException error;
+
+		private Header(String path, byte[] bytes, boolean emptyFile, IOException error) {
+			this.path = path;
+			this.bytes = bytes;
+			this.emptyFile = emptyFile;
+			this.error = error;
+		}
+
+		String path() {
+			return path;
+		}
+
+		boolean failed() {
+			return error != null;
+		}
+
+		IOException error() {
+			return error;
+		}
+
+		/*
+		 * 읽은 바이트, 첫 줄을 읽었다면 줄바꿈 문자는 빠져 있다.
+		 */
+		byte[] bytes() {
+			return bytes == null ? null : bytes.clone();
+		}
+
+		/*
+		 * UTF-8로 디코딩한 첫 줄, firstLineOfFile처럼 빈 파일이면 null을 반환한다.
+		 */
+		String line() {
+			if (error != null || emptyFile) {
+				return null;
+			}
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+
+	private FileHeaders() {
+	}
+
+	/*
+	 * 파일마다 첫 줄('\n', '\r' 또는 "\r\n" 앞까지)을 읽는다.
+	 */
+	static void readFirstLines(Iterable<String> paths, int concurrency, Consumer<? super Header> consumer)
+			throws InterruptedException {
+		read(paths, concurrency, MAX_LINE_BYTES, true, consumer);
+	}
+
+	/*
+	 * 파일마다 앞 n바이트(파일이 더 짧으면 전부)를 읽는다.
+	 */
+	static void readFirstBytes(Iterable<String> paths, int concurrency, int n, Consumer<? super Header> consumer)
+			throws InterruptedException {
+		if (n <= 0) {
+			throw new IllegalArgumentException("n: " + n);
+		}
+		read(paths, concurrency, n, false, consumer);
+	}
+
+	private static void read(Iterable<String> paths, int concurrency, int limit, boolean firstLine,
+			Consumer<? super Header> consumer) throws InterruptedException {
+		if (concurrency <= 0) {
+			throw new IllegalArgumentException("concurrency: " + concurrency);
+		}
+		Objects.requireNonNull(consumer);
+		Iterator<String> it = paths.iterator();
+		BlockingQueue<Object> results = new ArrayBlockingQueue<>(2 * concurrency);
+		AtomicBoolean stop = new AtomicBoolean();
+
+		Thread[] workers = new Thread[concurrency];
+		for (int i = 0; i < concurrency; i++) {
+			workers[i] = new Thread(() -> work(it, limit, firstLine, results, stop), "file-headers-" + i);
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+
+		int running = concurrency;
+		Throwable failure = null;
+		try {
+			while (running > 0) {
+				Object result = results.take();
+				if (result instanceof Finished) {
+					running--;
+					Throwable workerFailure = ((Finished) result).failure;
+					if (workerFailure != null && failure == null) {
+						failure = workerFailure;
+						stop.set(true);
+					}
+				} else if (failure == null) {
+					consumer.accept((Header) result);
+				}
+			}
+		} finally {
+			if (running > 0) { // consumer가 예외를 던졌거나 인터럽트되었다.
+				stop.set(true);
+				for (Thread worker : workers) {
+					worker.interrupt();
+				}
+			}
+		}
+		// paths의 반복자가 던진 예외
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+	}
+
+	private static void work(Iterator<String> it, int limit, boolean firstLine, BlockingQueue<Object> results,
+			AtomicBoolean stop) {
+		Throwable failure = null;
+		try {
+			ByteBuffer buf = ByteBuffer.allocateDirect(limit);
+			while (!stop.get()) {
+				String path;
+				synchronized (it) {
+					if (!it.hasNext()) {
+						break;
+					}
+					path = it.next();
+				}
+				results.put(readOne(path, buf, firstLine));
+			}
+		} catch (InterruptedException e) {
+			return; // 호출한 쪽이 더는 결과를 기다리지 않는다.
+		} catch (RuntimeException | Error e) {
+			failure = e;
+		}
+		try {
+			results.put(new Finished(failure));
+		} catch (InterruptedException e) {
+			// 호출한 쪽이 더는 결과를 기다리지 않는다.
+		}
+	}
+
+	private static Header readOne(String path, ByteBuffer buf, boolean firstLine) {
+		buf.clear();
+		int end = -1;
+		try (FileChannel in = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			int scanned = 0;
+			while (buf.hasRemaining() && in.read(buf) >= 0) {
+				if (!firstLine) {
+					continue;
+				}
+				for (int i = scanned; i < buf.position(); i++) {
+					byte b = buf.get(i);
+					if (b == '\n' || b == '\r') {
+						end = i;
+						break;
+					}
+				}
+				if (end >= 0) {
+					break;
+				}
+				scanned = buf.position();
+			}
+		} catch (IOException e) {
+			return new Header(path, null, false, e);
+		} catch (InvalidPathException e) {
+			return new Header(path, null, false, new IOException(e.getMessage(), e));
+		}
+		boolean emptyFile = buf.position() == 0;
+		byte[] bytes = new byte[end >= 0 ? end : buf.position()];
+		buf.flip();
+		buf.get(bytes);
+		return new Header(path, bytes, emptyFile, null);
+	}
+
+	/*
+	 * 작업 스레드가 끝났다는 표시
+	 */
+	private static final class Finished {
+		final Throwable failure;
+
+		Finished(Throwable failure) {
+			this.failure = failure;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package kr.taeu.effectiveJava.item9;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 작은 파일 20,000개의 첫 줄을 TryWithResources2.firstLineOfFile로 하나씩 읽을 때와
+ * FileHeaders.readFirstLines로 동시에 읽을 때의 처리 시간 비교
+ */
+public class FileHeadersBenchmark {
+	private static final int FILES = 20_000;
+	private static final int[] CONCURRENCIES = { 1, 4, 16, 64 };
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Path dir = Files.createTempDirectory("file-headers-benchmark");
+		List<String> paths = new ArrayList<>(FILES);
+		try {
+			byte[] body = new byte[16 * 1024];
+			Arrays.fill(body, (byte) 'x');
+			for (int i = 0; i < FILES; i++) {
+				Path file = dir.resolve("file-" + i + ".txt");
+				Files.write(file, ("header " + i + "\n").getBytes(StandardCharsets.UTF_8));
+				Files.write(file, body, StandardOpenOption.APPEND);
+				paths.add(file.toString());
+			}
+
+			for (int round = 0; round < 3; round++) { // 워밍업 2회 + 측정 1회
+				boolean print = round == 2;
+				long start = System.nanoTime();
+				long length = 0;
+				for (String path : paths) {
+					length += TryWithResources2.firstLineOfFile(path, "").length();
+				}
+				report("serial BufferedReader", start, length, 0, print);
+
+				for (int concurrency : CONCURRENCIES) {
+					LongAdder total = new LongAdder();
+					LongAdder errors = new LongAdder();
+					start = System.nanoTime();
+					FileHeaders.readFirstLines(paths, concurrency, header -> {
+						if (header.failed()) {
+							errors.increment();
+						} else {
+							total.add(header.line().length());
+						}
+					});
+					report("FileHeaders x" + concurrency, start, total.sum(), errors.sum(), print);
+				}
+			}
+		} finally {
+			for (String path : paths) {
+				Files.deleteIfExists(Paths.get(path));
+			}
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	private static void report(String name, long start, long length, long errors, boolean print) {
+		long elapsed = System.nanoTime() - start;
+		if (print) {
+			System.out.printf("%-22s %7.2f us/file (chars=%d, errors=%d)%n",
+					name, elapsed / 1e3 / FILES, length, errors);
+		}
+	}
+}
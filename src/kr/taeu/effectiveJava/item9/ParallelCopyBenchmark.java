@@ -0,0 +1,64 @@
+package kr.taeu.effectiveJava.item9;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/*
+ * 512MiB 파일을 FileCopy.transfer(스레드 하나)와 ParallelFileCopy(스레드 1, 2, 4, 8개)로 복사해 처리량을 비교한다.
+ * 마지막 실행에서는 진행률을 10% 단위로 출력한다.
+ */
+public class ParallelCopyBenchmark {
+	private static final long MIB = 1024 * 1024;
+	private static final long SIZE = 512 * MIB;
+	private static final int[] PARALLELISMS = { 1, 2, 4, 8 };
+
+	public static void main(String[] args) throws IOException {
+		Path dir = Files.createTempDirectory("parallel-copy-benchmark");
+		Path src = dir.resolve("src");
+		Path dst = dir.resolve("dst");
+		try {
+			byte[] chunk = new byte[(int) MIB];
+			new Random(42).nextBytes(chunk);
+			try (java.io.OutputStream out = Files.newOutputStream(src)) {
+				for (long written = 0; written < SIZE; written += MIB) {
+					out.write(chunk);
+				}
+			}
+
+			for (int round = 0; round < 2; round++) { // 워밍업 1회 + 측정 1회
+				boolean print = round == 1;
+				long start = System.nanoTime();
+				FileCopy.transfer(src.toString(), dst.toString());
+				report("transferTo", start, print);
+				for (int parallelism : PARALLELISMS) {
+					start = System.nanoTime();
+					ParallelFileCopy.copy(src.toString(), dst.toString(), parallelism);
+					report("parallel x" + parallelism, start, print);
+				}
+			}
+
+			int[] nextPercent = { 10 };
+			ParallelFileCopy.copy(src.toString(), dst.toString(), 4, FileCopy.DEFAULT_BUFFER_SIZE, (copied, total) -> {
+				synchronized (nextPercent) {
+					while (copied * 100 / total >= nextPercent[0]) {
+						System.out.printf("progress %3d%%%n", nextPercent[0]);
+						nextPercent[0] += 10;
+					}
+				}
+			});
+		} finally {
+			Files.deleteIfExists(src);
+			Files.deleteIfExists(dst);
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	private static void report(String name, long start, boolean print) {
+		long elapsed = System.nanoTime() - start;
+		if (print) {
+			System.out.printf("%-12s %,9.1f MiB/s%n", name, (double) SIZE / MIB / (elapsed / 1e9));
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package kr.taeu.effectiveJava.item9;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 원본을 구간으로 나눠 여러 스레드가 동시에 복사한다 - 스트림 하나로는 NVMe 장치를 다 쓰지 못할 때 쓴다.
+ * 각 스레드는 공유 채널에 위치 지정 read/write(FileChannel.read(ByteBuffer, long))만 쓰므로
+ * 채널의 position을 두고 경합하지 않는다.
+ *
+ * 복사 중 하나라도 실패하면 나머지 스레드도 멈추고, 모든 스레드가 끝난 다음에 채널을 닫고 반쯤 쓴 대상 파일을 지운다.
+ * 처음 난 예외를 던지고 이후 예외는 suppressed로 덧붙인다(item9).
+ */
+final class ParallelFileCopy {
+	/*
+	 * 복사한 바이트 수를 알려준다, 여러 복사 스레드에서 동시에 호출되므로 스레드 안전해야 한다.
+	 */
+	@FunctionalInterface
+	interface ProgressListener {
+		void onProgress(long copiedBytes, long totalBytes);
+	}
+
+	private static final long MIN_RANGE_SIZE = 1024 * 1024; // 이보다 작게는 나누지 않는다.
+
+	private ParallelFileCopy() {
+	}
+
+	static void copy(String src, String dst, int parallelism) throws IOException {
+		copy(src, dst, parallelism, FileCopy.DEFAULT_BUFFER_SIZE, (copied, total) -> {
+		});
+	}
+
+	static void copy(String src, String dst, int parallelism, int bufferSize, ProgressListener listener)
+			throws IOException {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism: " + parallelism);
+		}
+		FileCopy.checkBufferSize(bufferSize);
+		if (listener == null) {
+			throw new NullPointerException("listener");
+		}
+		Path target = Paths.get(dst);
+		try {
+			try (FileChannel in = FileChannel.open(Paths.get(src), StandardOpenOption.READ);
+					FileChannel out = FileCopy.openForWrite(dst)) {
+				copyRanges(in, out, parallelism, bufferSize, listener);
+			}
+		} catch (Throwable e) {
+			// close까지 실패 없이 끝나야 완성된 파일이다.
+			try {
+				Files.deleteIfExists(target);
+			} catch (IOException deleteFailure) {
+				e.addSuppressed(deleteFailure);
+			}
+			throw e;
+		}
+	}
+
+	private static void copyRanges(FileChannel in, FileChannel out, int parallelism, int bufferSize,
+			ProgressListener listener) throws IOException {
+		long size = in.size();
+		if (size == 0) {
+			return;
+		}
+		// 마지막 바이트를 먼저 써서 파일 길이를 한 번에 잡아둔다. 구간마다 파일을 늘리며 쓰지 않게 된다.
+		out.write(ByteBuffer.wrap(new byte[1]), size - 1);
+
+		int tasks = (int) Math.min(parallelism, (size + MIN_RANGE_SIZE - 1) / MIN_RANGE_SIZE);
+		ExecutorService pool = Executors.newFixedThreadPool(tasks);
+		AtomicBoolean failed = new AtomicBoolean();
+		AtomicLong copied = new AtomicLong();
+		List<Future<Void>> futures = new ArrayList<>(tasks);
+		Throwable failure = null;
+		try {
+			for (int i = 0; i < tasks; i++) {
+				long start = size * i / tasks;
+				long end = size * (i + 1) / tasks;
+				futures.add(pool.submit(() -> {
+					try {
+						copyRange(in, out, start, end, bufferSize, failed, copied, size, listener);
+					} catch (Throwable e) {
+						failed.set(true);
+						throw e;
+					}
+					return null;
+				}));
+			}
+
+			// 인터럽트는 공유 채널을 닫아버리므로(ClosedByInterruptException) 실패는 플래그로만 알린다.
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					failure = addFailure(failure, e.getCause());
+				} catch (InterruptedException e) {
+					failed.set(true);
+					Thread.currentThread().interrupt();
+					failure = addFailure(failure, new InterruptedIOException("복사 중 인터럽트되었습니다."));
+					break;
+				}
+			}
+		} finally {
+			pool.shutdown();
+			awaitTermination(pool);
+		}
+		if (failure instanceof IOException) {
+			throw (IOException) failure;
+		}
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure != null) {
+			throw new IOException(failure);
+		}
+	}
+
+	private static void copyRange(FileChannel in, FileChannel out, long start, long end, int bufferSize,
+			AtomicBoolean failed, AtomicLong copied, long total, ProgressListener listener) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocateDirect((int) Math.min(bufferSize, end - start));
+		long position = start;
+		while (position < end && !failed.get()) {
+			buf.clear();
+			buf.limit((int) Math.min(buf.capacity(), end - position));
+			int n = in.read(buf, position);
+			if (n < 0) {
+				throw new EOFException("복사 중에 원본 파일이 줄었습니다: " + position);
+			}
+			buf.flip();
+			long written = position;
+			while (buf.hasRemaining()) {
+				written += out.write(buf, written);
+			}
+			position = written;
+			listener.onProgress(copied.addAndGet(n), total);
+		}
+	}
+
+	/*
+	 * 작업 스레드가 공유 채널을 다 쓸 때까지 기다린다. 그 전에 채널을 닫거나 대상 파일을 지우면 안 되므로
+	 * 인터럽트돼도 계속 기다리고, 끝난 뒤 인터럽트 상태를 되살린다.
+	 */
+	private static void awaitTermination(ExecutorService pool) {
+		boolean interrupted = false;
+		while (!pool.isTerminated()) {
+			try {
+				pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Throwable addFailure(Throwable failure, Throwable cause) {
+		if (failure == null) {
+			return cause;
+		}
+		failure.addSuppressed(cause);
+		return failure;
+	}
+}
@@ -0,0 +1,34 @@
+package kr.taeu.effectiveJava.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/*
+ * 벤치마크들이 함께 쓰는 메모리 측정 도구
+ */
+public final class Memory {
+  private Memory() {
+  }
+
+  /*
+   * GC를 몇 번 돌린 뒤의 힙 사용량, 살아 있는 객체의 크기를 어림할 때 쓴다.
+   */
+  public static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  /*
+   * 현재 스레드가 지금까지 할당한 바이트 수(HotSpot의 스레드별 할당 카운터), 지원하지 않는 JVM에서는 0
+   */
+  public static long allocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return 0;
+  }
+}
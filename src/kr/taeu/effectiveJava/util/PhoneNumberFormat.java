@@ -0,0 +1,133 @@
+package kr.taeu.effectiveJava.util;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/*
+ * PhoneNumber 클래스들(item12, item13의 PhoneNumber1)이 함께 쓰는 "XXX-YYY-ZZZZ" 포맷을 String.format 없이 직접 만들고 해석한다.
+ * String.format은 호출마다 포맷 문자열을 해석하고 Formatter, 박싱된 인자, 중간 문자열을 만든다.
+ * 포맷이 12글자로 고정되어 있으므로 자리마다 숫자 하나를 계산해 호출한 쪽의 버퍼에 바로 쓴다.
+ */
+public final class PhoneNumberFormat {
+  public static final int LENGTH = 12;
+
+  private PhoneNumberFormat() {
+  }
+
+  public static String toString(int areaCode, int prefix, int lineNum) {
+    char[] buf = new char[LENGTH];
+    format(areaCode, prefix, lineNum, buf, 0);
+    return new String(buf);
+  }
+
+  /*
+   * dst[offset]부터 12글자를 쓰고 다음 위치를 반환한다.
+   */
+  public static int format(int areaCode, int prefix, int lineNum, char[] dst, int offset) {
+    if (offset < 0 || dst.length - offset < LENGTH) {
+      throw new IndexOutOfBoundsException("offset: " + offset);
+    }
+    checkFields(areaCode, prefix, lineNum);
+    writeDigits(dst, offset, areaCode, 3);
+    dst[offset + 3] = '-';
+    writeDigits(dst, offset + 4, prefix, 3);
+    dst[offset + 7] = '-';
+    writeDigits(dst, offset + 8, lineNum, 4);
+    return offset + LENGTH;
+  }
+
+  public static StringBuilder appendTo(int areaCode, int prefix, int lineNum, StringBuilder sb) {
+    checkFields(areaCode, prefix, lineNum);
+    appendDigits(sb, areaCode, 100);
+    sb.append('-');
+    appendDigits(sb, prefix, 100);
+    sb.append('-');
+    appendDigits(sb, lineNum, 1000);
+    return sb;
+  }
+
+  /*
+   * ASCII 12바이트를 dst의 현재 위치에 쓴다. 자리가 모자라면 아무것도 쓰지 않고 BufferOverflowException을 던진다.
+   */
+  public static void format(int areaCode, int prefix, int lineNum, ByteBuffer dst) {
+    if (dst.remaining() < LENGTH) {
+      throw new BufferOverflowException();
+    }
+    checkFields(areaCode, prefix, lineNum);
+    putDigits(dst, areaCode, 100);
+    dst.put((byte) '-');
+    putDigits(dst, prefix, 100);
+    dst.put((byte) '-');
+    putDigits(dst, lineNum, 1000);
+  }
+
+  /*
+   * "XXX-YYY-ZZZZ"를 해석해 fields[0], fields[1], fields[2]에 지역코드, 프리픽스, 가입자 번호를 채운다.
+   * 호출한 쪽이 배열을 재사용하면 객체를 하나도 만들지 않는다.
+   * 각 부분의 자릿수가 고정이므로 숫자만 맞으면 rangeCheck의 범위(지역코드와 프리픽스 0 ~ 999, 가입자 번호 0 ~ 9999)도 만족한다.
+   */
+  public static void parse(CharSequence s, int[] fields) {
+    if (fields.length < 3) {
+      throw new IllegalArgumentException("fields.length: " + fields.length);
+    }
+    if (s.length() != LENGTH || s.charAt(3) != '-' || s.charAt(7) != '-') {
+      throw notPhoneNumber(s);
+    }
+    int areaCode = parseDigits(s, 0, 3);
+    int prefix = parseDigits(s, 4, 7);
+    int lineNum = parseDigits(s, 8, 12);
+    fields[0] = areaCode;
+    fields[1] = prefix;
+    fields[2] = lineNum;
+  }
+
+  /*
+   * 자릿수가 고정이므로 범위를 벗어난 값은 다른 번호처럼 잘못 찍힌다. 쓰기 전에 PhoneNumber의 rangeCheck와 같은 범위로 검사한다.
+   */
+  private static void checkFields(int areaCode, int prefix, int lineNum) {
+    rangeCheck(areaCode, 999, "지역코드");
+    rangeCheck(prefix, 999, "프리픽스");
+    rangeCheck(lineNum, 9999, "가입자 번호");
+  }
+
+  private static void rangeCheck(int val, int max, String arg) {
+    if (val < 0 || val > max) {
+      throw new IllegalArgumentException(arg + ": " + val);
+    }
+  }
+
+  private static int parseDigits(CharSequence s, int from, int to) {
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      int digit = s.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw notPhoneNumber(s);
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static IllegalArgumentException notPhoneNumber(CharSequence s) {
+    return new IllegalArgumentException("전화번호 형식이 아닙니다: " + s);
+  }
+
+  private static void writeDigits(char[] dst, int offset, int value, int width) {
+    for (int i = offset + width - 1; i >= offset; i--) {
+      dst[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  private static void appendDigits(StringBuilder sb, int value, int divisor) {
+    for (int d = divisor; d > 0; d /= 10) {
+      sb.append((char) ('0' + value / d % 10));
+    }
+  }
+
+  private static void putDigits(ByteBuffer dst, int value, int divisor) {
+    for (int d = divisor; d > 0; d /= 10) {
+      dst.put((byte) ('0' + value / d % 10));
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package kr.taeu.effectiveJava.util;
+
+/*
+ * PhoneNumber 클래스들(item10 ~ item14)이 함께 쓰는 해시 함수
+ * 세 필드를 겹치지 않게 비트로 이어 붙인 다음(지역코드 10비트, 프리픽스 10비트, 가입자 번호 14비트)
+ * MurmurHash3의 fmix64로 섞어 하위 비트까지 고르게 퍼뜨린다.
+ * 생성자에서 범위를 검사한 필드를 받으므로 다시 검사하지 않는다.
+ */
+public final class PhoneNumberHash {
+  private PhoneNumberHash() {
+  }
+
+  public static int hash(int areaCode, int prefix, int lineNum) {
+    long h = ((long) areaCode << 24) | ((long) prefix << 14) | lineNum;
+    h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+    h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return (int) (h ^ (h >>> 33));
+  }
+}